@@ -1,9 +1,16 @@
 package com.banking.account_service.controller;
 
 import com.banking.account_service.dto.AccountBalanceResponse;
+import com.banking.account_service.dto.BatchBalanceRequest;
+import com.banking.account_service.dto.BatchBalanceResponse;
+import com.banking.account_service.dto.CaptureRequest;
+import com.banking.account_service.dto.HoldRequest;
 import com.banking.account_service.dto.TransactionRequest;
 import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceHold;
 import com.banking.account_service.services.AccountService;
+import com.banking.account_service.services.HoldService;
+import com.banking.account_service.utils.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -34,9 +41,11 @@ import io.swagger.v3.oas.annotations.info.Info;
 public class AccountController {
 
     private final AccountService accountService;
+    private final HoldService holdService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, HoldService holdService) {
         this.accountService = accountService;
+        this.holdService = holdService;
     }
 
     @Operation(summary = "Check account balance.", description = "Retrieves the current balance of the account using its IBAN.")
@@ -61,6 +70,28 @@ public class AccountController {
         return accountService.getBalance(iban);
     }
 
+    @Operation(summary = "Check the balances of several accounts.", description = "Retrieves the current balances of up to " + Constants.BATCH_LOOKUP_MAX_IBANS + " accounts in a single call. IBANs without an account are listed in 'notFound' instead of failing the whole request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Account balances retrieved successfully.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BatchBalanceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No IBANs or too many IBANs provided.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class,
+                                    example = """
+                                            {
+                                              "dateTimeStamp": "2025-03-13 09:39:50",
+                                              "status": 400,
+                                              "errorCode": "ERROR_INPUT_VALIDATION",
+                                              "message": "The 'ibans' parameter must contain at least one IBAN.",
+                                              "path": "uri=/accounts/balances:batchGet"
+                                            }""")))
+    })
+    @PostMapping("/balances:batchGet")
+    public BatchBalanceResponse batchGetBalances(@RequestBody @Valid BatchBalanceRequest request) {
+        return accountService.getBalances(request.getIbans());
+    }
+
     @Operation(summary = "Deposit funds into a bank account.", description = "Deposits the specified amount of money into the bank account associated with the given IBAN. The amount should be provided in the request body along with the currency.")
     @PostMapping("/{iban}/deposit")
     @ApiResponses(value = {
@@ -173,6 +204,67 @@ public class AccountController {
         Account updatedAccount = accountService.debit(iban, request.getCurrency(), request.getAmount());
         return ResponseEntity.ok(updatedAccount);
     }
-}
 
+    @Operation(summary = "Place a hold on account funds.", description = "Reserves the specified amount on the balance of the given currency until it is captured, released or expires. Held funds are excluded from the available balance.")
+    @PostMapping("/{iban}/holds")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold placed successfully.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BalanceHold.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid currency provided for the hold. / Parameter format invalid.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Account or Currency not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "Insufficient available funds for the hold.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BalanceHold> hold(@Parameter(description = "The IBAN of the bank account.", example = "EE3822002210201578458065") @PathVariable String iban, @RequestBody @Valid HoldRequest request) {
+        BalanceHold hold = holdService.hold(iban, request.getCurrency(), request.getAmount(), request.getTtlSeconds());
+        return ResponseEntity.ok(hold);
+    }
+
+    @Operation(summary = "Capture a hold.", description = "Debits the held funds from the account balance and closes the hold. An amount lower than the held amount captures it partially and releases the remainder.")
+    @PostMapping("/{iban}/holds/{holdId}/capture")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured successfully.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = Account.class))),
+            @ApiResponse(responseCode = "404", description = "Account or Hold not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "The hold was already captured, released or has expired.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "422", description = "The capture amount exceeds the held amount.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Account> capture(@Parameter(description = "The IBAN of the bank account.", example = "EE3822002210201578458065") @PathVariable String iban,
+                                           @Parameter(description = "The identifier of the hold.", example = "1") @PathVariable Long holdId,
+                                           @RequestBody(required = false) @Valid CaptureRequest request) {
+        Account updatedAccount = holdService.capture(iban, holdId, request == null ? null : request.getAmount());
+        return ResponseEntity.ok(updatedAccount);
+    }
 
+    @Operation(summary = "Release a hold.", description = "Closes the hold without debiting the account, making the held funds available again.")
+    @PostMapping("/{iban}/holds/{holdId}/release")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released successfully.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BalanceHold.class))),
+            @ApiResponse(responseCode = "404", description = "Account or Hold not found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "The hold was already captured, released or has expired.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<BalanceHold> release(@Parameter(description = "The IBAN of the bank account.", example = "EE3822002210201578458065") @PathVariable String iban,
+                                               @Parameter(description = "The identifier of the hold.", example = "1") @PathVariable Long holdId) {
+        BalanceHold releasedHold = holdService.release(iban, holdId);
+        return ResponseEntity.ok(releasedHold);
+    }
+}
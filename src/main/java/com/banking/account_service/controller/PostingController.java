@@ -0,0 +1,52 @@
+package com.banking.account_service.controller;
+
+import com.banking.account_service.dto.PostingRequest;
+import com.banking.account_service.entities.PostingRun;
+import com.banking.account_service.services.BulkPostingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin/postings")
+public class PostingController {
+
+    private final BulkPostingService bulkPostingService;
+
+    public PostingController(BulkPostingService bulkPostingService) {
+        this.bulkPostingService = bulkPostingService;
+    }
+
+    @Operation(summary = "Post interest or a fee to every account.", description = "Starts a bulk posting in the background. Submitting an existing run key resumes that posting from its checkpoint; a completed posting is never repeated.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Posting started, resumed or already completed.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostingRun.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request, or no currency for a FEE posting."),
+            @ApiResponse(responseCode = "404", description = "Currency not found."),
+            @ApiResponse(responseCode = "409", description = "The run key is already used by a posting with a different type, currency or amount.")
+    })
+    @PostMapping
+    public ResponseEntity<PostingRun> start(@RequestBody @Valid PostingRequest request) {
+        PostingRun run = bulkPostingService.start(request.getRunKey(), request.getType(), request.getCurrency(), request.getAmount());
+        return ResponseEntity.accepted().body(run);
+    }
+
+    @Operation(summary = "Check a bulk posting.", description = "Returns the status and checkpoint of the posting with the given run key.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posting found.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostingRun.class))),
+            @ApiResponse(responseCode = "404", description = "No posting with this run key.")
+    })
+    @GetMapping("/{runKey}")
+    public ResponseEntity<PostingRun> status(@Parameter(description = "The key of the posting.", example = "interest-2025-03") @PathVariable String runKey) {
+        return ResponseEntity.of(bulkPostingService.find(runKey));
+    }
+}
@@ -0,0 +1,55 @@
+package com.banking.account_service.controller;
+
+import com.banking.account_service.dto.ReconciliationStatus;
+import com.banking.account_service.entities.ReconciliationDiscrepancy;
+import com.banking.account_service.services.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/reconciliation")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    public ReconciliationController(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @Operation(summary = "Start a balance reconciliation.", description = "Recomputes every balance from its recorded movements in the background and reports the balances that do not match. If a run is already in progress, its status is returned instead.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reconciliation started or already running.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReconciliationStatus.class)))
+    })
+    @PostMapping
+    public ResponseEntity<ReconciliationStatus> start() {
+        return ResponseEntity.accepted().body(reconciliationService.start());
+    }
+
+    @Operation(summary = "Check reconciliation progress.", description = "Returns the progress and throughput of the latest reconciliation run.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status of the latest run.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ReconciliationStatus.class))),
+            @ApiResponse(responseCode = "404", description = "No reconciliation has been started.")
+    })
+    @GetMapping
+    public ResponseEntity<ReconciliationStatus> status() {
+        return ResponseEntity.of(reconciliationService.getStatus());
+    }
+
+    @Operation(summary = "Get the discrepancy report of a run.", description = "Lists the balances that did not match their recorded movements in the given run.")
+    @GetMapping("/{runId}/discrepancies")
+    public List<ReconciliationDiscrepancy> discrepancies(@Parameter(description = "The identifier of the reconciliation run.") @PathVariable String runId) {
+        return reconciliationService.getDiscrepancies(runId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.banking.account_service.controller;
+
+import com.banking.account_service.dto.RequestTrace;
+import com.banking.account_service.timing.RequestTraceBuffer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/traces")
+public class TraceController {
+
+    private final RequestTraceBuffer traceBuffer;
+
+    public TraceController(RequestTraceBuffer traceBuffer) {
+        this.traceBuffer = traceBuffer;
+    }
+
+    @Operation(summary = "List sampled slow requests.", description = "Returns the most recent sampled requests that exceeded the slow-request threshold, newest first, with the time spent in each phase.")
+    @GetMapping
+    public List<RequestTrace> latest(@Parameter(description = "Maximum number of traces to return.", example = "50") @RequestParam(defaultValue = "50") int limit) {
+        return traceBuffer.latest(limit);
+    }
+}
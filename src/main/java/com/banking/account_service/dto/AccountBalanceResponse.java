@@ -1,9 +1,11 @@
 package com.banking.account_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,4 +24,14 @@ public class AccountBalanceResponse {
             example = "{\"USD\": 1000.0, \"EUR\": 500.0}")
     private Map<String, BigDecimal> balances = new HashMap<>();
 
-}
\ No newline at end of file
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Point in time the balances are guaranteed to be current as of.",
+            example = "2025-03-13T09:39:50.123Z")
+    private Instant asOf;
+
+    public AccountBalanceResponse(String iban, Map<String, BigDecimal> balances) {
+        this.iban = iban;
+        this.balances = balances;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import com.banking.account_service.utils.Constants;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBalanceRequest {
+
+    @NotEmpty(message = Constants.MESSAGE_IBANS_REQUIRED)
+    @Size(max = Constants.BATCH_LOOKUP_MAX_IBANS, message = Constants.MESSAGE_IBANS_MAXIMUM)
+    @Schema(description = "The IBANs of the bank accounts to look up.",
+            example = "[\"EE3822002210201578458065\", \"ES6112343456420456323532\"]")
+    private List<@NotBlank(message = Constants.MESSAGE_IBANS_BLANK) String> ibans;
+
+}
@@ -0,0 +1,25 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBalanceResponse {
+
+    @Schema(description = "Balances of the accounts found, keyed by IBAN in request order.")
+    private Map<String, AccountBalanceResponse> balances = new LinkedHashMap<>();
+
+    @Schema(description = "Requested IBANs for which no account exists.",
+            example = "[\"GB3822002219020157845806\"]")
+    private List<String> notFound = new ArrayList<>();
+
+}
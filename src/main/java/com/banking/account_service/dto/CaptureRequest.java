@@ -0,0 +1,22 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import com.banking.account_service.utils.Constants;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CaptureRequest {
+
+    @DecimalMin(value = "0", inclusive = false, message = Constants.MESSAGE_CAPTURE_AMOUNT_MINIMUM)
+    @Schema(description = "The amount to debit. Defaults to the full held amount; any remainder is released.",
+            example = "80.00")
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,39 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import com.banking.account_service.utils.Constants;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldRequest {
+
+    @NotBlank(message = Constants.MESSAGE_CURRENCY_REQUIRED)
+    @Schema(description = "The currency of the amount to be held, e.g., USD, EUR.",
+            example = "USD")
+    private String currency;
+
+    @NotNull(message = Constants.MESSAGE_AMOUNT_REQUIRED)
+    @DecimalMin(value = "10", message = Constants.MESSAGE_AMOUNT_MINIMUM)
+    @Schema(description = "The amount to be reserved on the account. The minimum amount is 10.",
+            example = "100.00")
+    private BigDecimal amount;
+
+    @NotNull(message = Constants.MESSAGE_TTL_REQUIRED)
+    @Min(value = 1, message = Constants.MESSAGE_TTL_MINIMUM)
+    @Max(value = Constants.HOLD_MAX_TTL_SECONDS, message = Constants.MESSAGE_TTL_MAXIMUM)
+    @Schema(description = "Seconds until the hold expires and the funds become available again. At most 30 days.",
+            example = "900")
+    private Long ttlSeconds;
+
+}
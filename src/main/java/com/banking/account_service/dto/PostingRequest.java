@@ -0,0 +1,38 @@
+package com.banking.account_service.dto;
+
+import com.banking.account_service.entities.PostingRun;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import com.banking.account_service.utils.Constants;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostingRequest {
+
+    @NotBlank(message = Constants.MESSAGE_RUN_KEY_REQUIRED)
+    @Schema(description = "Unique key of the posting. Submitting the same key again resumes the posting instead of repeating it.",
+            example = "interest-2025-03")
+    private String runKey;
+
+    @NotNull(message = Constants.MESSAGE_POSTING_TYPE_REQUIRED)
+    @Schema(description = "Whether to post interest or a fee.", example = "INTEREST")
+    private PostingRun.Type type;
+
+    @Schema(description = "The currency to post to. Every currency when omitted; required for FEE postings.", example = "EUR")
+    private String currency;
+
+    @NotNull(message = Constants.MESSAGE_AMOUNT_REQUIRED)
+    @DecimalMin(value = "0", inclusive = false, message = Constants.MESSAGE_POSTING_AMOUNT_POSITIVE)
+    @Schema(description = "The interest rate for INTEREST postings (0.0025 = 0.25%), or the fee per balance for FEE postings.",
+            example = "0.0025")
+    private BigDecimal amount;
+
+}
@@ -0,0 +1,51 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconciliationStatus {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Schema(description = "Identifier of the reconciliation run; discrepancies are reported under it.",
+            example = "3f1c2b0e-5d7a-4c1e-9a55-2f4f1f0f6b8e")
+    private String runId;
+
+    @Schema(description = "Current state of the run.", example = "RUNNING")
+    private State state;
+
+    @Schema(description = "When the run started.")
+    private Instant startedAt;
+
+    @Schema(description = "When the run finished, if it has.")
+    private Instant finishedAt;
+
+    @Schema(description = "Number of accounts to reconcile.", example = "1000000")
+    private long totalAccounts;
+
+    @Schema(description = "Number of accounts reconciled so far.", example = "250000")
+    private long processedAccounts;
+
+    @Schema(description = "Number of balances that did not match their recorded activity.", example = "0")
+    private long discrepancies;
+
+    @Schema(description = "Average throughput since the run started.", example = "41250.5")
+    private double accountsPerSecond;
+
+    @Schema(description = "Current throttle rate; below the configured maximum while the run backs off from live traffic.",
+            example = "50000")
+    private long throttleAccountsPerSecond;
+
+    @Schema(description = "Failure cause when the run failed.")
+    private String error;
+
+}
@@ -0,0 +1,35 @@
+package com.banking.account_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RequestTrace {
+
+    @Schema(description = "When the request completed.")
+    private Instant completedAt;
+
+    @Schema(description = "HTTP method of the request.", example = "POST")
+    private String method;
+
+    @Schema(description = "Request path.", example = "/accounts/EE3822002210201578458065/debit")
+    private String path;
+
+    @Schema(description = "HTTP status of the response.", example = "200")
+    private int status;
+
+    @Schema(description = "Total time spent handling the request, in milliseconds.", example = "412.337")
+    private double totalMillis;
+
+    @Schema(description = "Time spent in each timed phase, in milliseconds.",
+            example = "{\"findByIban\": 380.102, \"validateCurrency\": 0.011, \"save\": 25.870, \"serialization\": 0.204}")
+    private Map<String, Double> phases;
+
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 @Entity
 @Getter
 @Setter
+@Table(indexes = @Index(name = "idx_account_iban", columnList = "iban", unique = true))
 public class Account {
 
 
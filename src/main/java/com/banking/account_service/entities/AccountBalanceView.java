@@ -0,0 +1,32 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Read-side projection of an account: one row per IBAN with every balance already
+ * serialized as JSON, so balance reads touch a single row and never the write tables.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_account_balance_view_account", columnList = "account_id"))
+public class AccountBalanceView {
+
+    @Id
+    private String iban;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false, length = 4000)
+    private String balancesJson;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+}
@@ -0,0 +1,33 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Change-stream entry written in the same transaction as every balance update. The
+ * balance projection polls these rows in id order and deletes them once applied.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public AccountOutboxEvent(Long accountId, Instant createdAt) {
+        this.accountId = accountId;
+        this.createdAt = createdAt;
+    }
+
+}
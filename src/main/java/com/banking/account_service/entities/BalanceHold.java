@@ -0,0 +1,59 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Funds reserved on an account balance until they are captured, released or the hold expires.
+ * Only {@link Status#ACTIVE} holds that have not reached {@code expiresAt} reduce the available balance.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_balance_hold_account_currency", columnList = "account_id, currency, status"),
+        @Index(name = "idx_balance_hold_status", columnList = "status, id")
+})
+public class BalanceHold {
+
+    public enum Status {
+        ACTIVE, CAPTURED, RELEASED, EXPIRED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private String currency;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    public BalanceHold(Long accountId, String currency, BigDecimal amount, Instant createdAt, Instant expiresAt) {
+        this.accountId = accountId;
+        this.currency = currency;
+        this.amount = amount;
+        this.status = Status.ACTIVE;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+}
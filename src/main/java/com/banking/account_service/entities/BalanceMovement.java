@@ -0,0 +1,59 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Ledger entry for every change to an account balance, written in the same transaction as
+ * the change. The signed amounts of an account and currency add up to its stored balance,
+ * starting from the {@link Type#OPENING} entry.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_balance_movement_account_currency", columnList = "account_id, currency"),
+        @Index(name = "idx_balance_movement_posting_chunk", columnList = "posting_chunk_id, account_id, currency")
+})
+public class BalanceMovement {
+
+    public enum Type {
+        OPENING, DEPOSIT, DEBIT, CAPTURE, INTEREST, FEE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private String currency;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Set on movements written by a bulk posting, identifying the PostingChunk that wrote them
+    private Long postingChunkId;
+
+    public BalanceMovement(Long accountId, String currency, BigDecimal amount, Type type, Instant createdAt) {
+        this.accountId = accountId;
+        this.currency = currency;
+        this.amount = amount;
+        this.type = type;
+        this.createdAt = createdAt;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contiguous range of account ids posted by a {@link PostingRun} in one transaction. The
+ * chunk turns {@link Status#DONE} in the same transaction as its postings, so a chunk
+ * interrupted by a crash is still {@link Status#PENDING} and has posted nothing.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = @Index(name = "idx_posting_chunk_run_status", columnList = "run_id, status"))
+public class PostingChunk {
+
+    public enum Status {
+        PENDING, DONE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long runId;
+
+    @Column(nullable = false)
+    private long fromAccountId;
+
+    @Column(nullable = false)
+    private long toAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private int postedCount;
+
+    public PostingChunk(Long runId, long fromAccountId, long toAccountId) {
+        this.runId = runId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.status = Status.PENDING;
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A bulk posting of interest or a fee across every account balance, identified by a caller
+ * supplied key (e.g. {@code interest-2025-03}) so the same posting is never started twice.
+ * {@code lastPlannedAccountId} is the keyset checkpoint: every account up to it belongs to a
+ * {@link PostingChunk} of this run.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_posting_run_key", columnNames = "run_key"))
+public class PostingRun {
+
+    public enum Type {
+        INTEREST, FEE
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String runKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    // Applies to every currency when null
+    private String currency;
+
+    // Interest rate for INTEREST runs, fee per balance for FEE runs
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private long lastPlannedAccountId;
+
+    @Column(nullable = false)
+    private long postedBalances;
+
+    private String error;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private Instant completedAt;
+
+    public PostingRun(String runKey, Type type, String currency, BigDecimal amount, Instant createdAt) {
+        this.runKey = runKey;
+        this.type = type;
+        this.currency = currency;
+        this.amount = amount;
+        this.status = Status.RUNNING;
+        this.createdAt = createdAt;
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.banking.account_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Balance found by a reconciliation run to differ from the one recomputed from its movements.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_reconciliation_discrepancy_run", columnList = "run_id"))
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String runId;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private String currency;
+
+    private BigDecimal storedBalance;
+
+    private BigDecimal recomputedBalance;
+
+    @Column(nullable = false)
+    private Instant detectedAt;
+
+}
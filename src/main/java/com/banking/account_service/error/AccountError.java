@@ -0,0 +1,72 @@
+package com.banking.account_service.error;
+
+import com.banking.account_service.utils.Constants;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Catalogue of the business rejections raised by the account operations.
+ * Each entry carries its HTTP status, error code and a message template whose
+ * literal fragments are split once at class load, so building a rejection only
+ * has to append the request-specific values.
+ */
+@Getter
+public enum AccountError {
+
+    IBAN_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.ERROR_IBAN_NOT_FOUND,
+            "Account with IBAN '{}' not found."),
+    CURRENCY_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.ERROR_CURRENCY_NOT_FOUND,
+            "Currency '{}' not found."),
+    CURRENCY_NOT_AVAILABLE(HttpStatus.BAD_REQUEST, Constants.ERROR_INVALID_CURRENCY,
+            "The currency '{}' is not available for IBAN '{}'."),
+    INSUFFICIENT_FUNDS(HttpStatus.UNPROCESSABLE_ENTITY, Constants.ERROR_INSUFFICIENT_FUNDS,
+            "Insufficient funds for IBAN '{}'. The withdrawal amount of {} exceeds the available balance of {}."),
+    HOLD_NOT_FOUND(HttpStatus.NOT_FOUND, Constants.ERROR_HOLD_NOT_FOUND,
+            "Hold '{}' not found for IBAN '{}'."),
+    HOLD_NOT_ACTIVE(HttpStatus.CONFLICT, Constants.ERROR_HOLD_NOT_ACTIVE,
+            "Hold '{}' is no longer active."),
+    CAPTURE_EXCEEDS_HOLD(HttpStatus.UNPROCESSABLE_ENTITY, Constants.ERROR_CAPTURE_EXCEEDS_HOLD,
+            "The capture amount of {} exceeds the held amount of {} for hold '{}'."),
+    POSTING_CURRENCY_REQUIRED(HttpStatus.BAD_REQUEST, Constants.ERROR_INPUT_VALIDATION,
+            "The 'currency' parameter is required for {} postings."),
+    POSTING_RUN_CONFLICT(HttpStatus.CONFLICT, Constants.ERROR_POSTING_RUN_CONFLICT,
+            "Posting run '{}' already exists with a different type, currency or amount.");
+
+    private static final String PLACEHOLDER = "{}";
+
+    private final HttpStatus httpStatus;
+    private final String errorCode;
+    private final String[] fragments;
+
+    AccountError(HttpStatus httpStatus, String errorCode, String template) {
+        this.httpStatus = httpStatus;
+        this.errorCode = errorCode;
+        this.fragments = template.split("\\{}", -1);
+    }
+
+    /**
+     * Renders the message template, replacing each placeholder with the matching argument.
+     *
+     * @param args the values to insert, in the order the placeholders appear
+     * @return the rendered message
+     */
+    public String message(Object... args) {
+        StringBuilder message = new StringBuilder(64);
+        message.append(fragments[0]);
+        for (int i = 1; i < fragments.length; i++) {
+            message.append(i - 1 < args.length ? args[i - 1] : PLACEHOLDER).append(fragments[i]);
+        }
+        return message.toString();
+    }
+
+    /**
+     * Builds the {@link CustomException} for this rejection.
+     *
+     * @param args the values to insert into the message template
+     * @return a stackless {@link CustomException} carrying this error's status and code
+     */
+    public CustomException exception(Object... args) {
+        return new CustomException(message(args), httpStatus.value(), errorCode);
+    }
+
+}
@@ -3,6 +3,11 @@ package com.banking.account_service.error;
 import lombok.Getter;
 import lombok.Setter;
 
+/**
+ * Business rejection returned to the client through {@link GlobalExceptionHandler}.
+ * These are expected outcomes rather than faults, so the exception neither records
+ * a stack trace nor supports suppression.
+ */
 @Getter
 @Setter
 public class CustomException extends RuntimeException {
@@ -11,7 +16,7 @@ public class CustomException extends RuntimeException {
     private final String errorCode;
 
     public CustomException(String message, int status, String errorCode) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
         this.errorCode = errorCode;
     }
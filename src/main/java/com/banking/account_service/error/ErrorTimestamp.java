@@ -0,0 +1,30 @@
+package com.banking.account_service.error;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Second-resolution clock for error responses. The response timestamp is rendered as
+ * {@code yyyy-MM-dd HH:mm:ss}, so the {@link LocalDateTime} is rebuilt at most once per
+ * second and shared by every error produced within that second.
+ */
+final class ErrorTimestamp {
+
+    private record Tick(long epochSecond, LocalDateTime dateTime) {
+    }
+
+    private static volatile Tick current = new Tick(Long.MIN_VALUE, null);
+
+    private ErrorTimestamp() {}
+
+    static LocalDateTime now() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        Tick tick = current;
+        if (tick.epochSecond() != epochSecond) {
+            tick = new Tick(epochSecond, LocalDateTime.now(ZoneId.systemDefault()).withNano(0));
+            current = tick;
+        }
+        return tick.dateTime();
+    }
+
+}
@@ -12,8 +12,6 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.NoHandlerFoundException;
 
-import java.time.LocalDateTime;
-
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -35,12 +33,13 @@ public class GlobalExceptionHandler {
         HttpStatus status = switch (ex.getStatus()) {
             case Constants.CODE_ERROR_NOT_FOUND -> HttpStatus.NOT_FOUND;
             case Constants.CODE_ERROR_BAD_REQUEST -> HttpStatus.BAD_REQUEST;
+            case Constants.CODE_ERROR_CONFLICT -> HttpStatus.CONFLICT;
             case Constants.CODE_ERROR_UNPROCESSABLE_ENTITY -> HttpStatus.UNPROCESSABLE_ENTITY;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
 
         CustomErrorResponse errorResponse = new CustomErrorResponse(
-                LocalDateTime.now(),
+                ErrorTimestamp.now(),
                 status.value(),
                 ex.getErrorCode(),
                 ex.getMessage(),
@@ -64,7 +63,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<CustomErrorResponse> handleUrlNotFound(NoHandlerFoundException ex, WebRequest request) {
 
         CustomErrorResponse errorResponse = new CustomErrorResponse(
-                LocalDateTime.now(),
+                ErrorTimestamp.now(),
                 HttpStatus.NOT_FOUND.value(),
                 Constants.ERROR_URL_NOT_FOUND,
                 ex.getMessage(),
@@ -95,7 +94,7 @@ public class GlobalExceptionHandler {
         FieldError fieldError = (FieldError) ex.getBindingResult().getAllErrors().getFirst();
 
         CustomErrorResponse errorResponse = new CustomErrorResponse(
-                LocalDateTime.now(),
+                ErrorTimestamp.now(),
                 HttpStatus.BAD_REQUEST.value(),
                 Constants.ERROR_INPUT_VALIDATION,
                 fieldError.getDefaultMessage(),
@@ -138,7 +137,7 @@ public class GlobalExceptionHandler {
         }
 
         CustomErrorResponse errorResponse = new CustomErrorResponse(
-                LocalDateTime.now(),
+                ErrorTimestamp.now(),
                 HttpStatus.BAD_REQUEST.value(),
                 Constants.ERROR_PARAMETER_FORMAT_INVALID,
                 "Parameter: '"+ parameter +"'. "+message,
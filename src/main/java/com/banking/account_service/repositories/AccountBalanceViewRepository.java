@@ -0,0 +1,9 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.AccountBalanceView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceViewRepository extends JpaRepository<AccountBalanceView, String> {
+}
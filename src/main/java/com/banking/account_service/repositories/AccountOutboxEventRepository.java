@@ -0,0 +1,39 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.AccountOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountOutboxEventRepository extends JpaRepository<AccountOutboxEvent, Long> {
+
+    @Query("select e from AccountOutboxEvent e order by e.id")
+    List<AccountOutboxEvent> findBatch(Pageable pageable);
+
+    Optional<AccountOutboxEvent> findFirstByOrderByIdAsc();
+
+    /**
+     * Enqueues the accounts in the id range that have no projection row yet.
+     *
+     * @return the number of accounts enqueued
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_outbox_event (account_id, created_at) " +
+            "SELECT a.id, CURRENT_TIMESTAMP FROM account a WHERE a.id BETWEEN :fromId AND :toId " +
+            "AND NOT EXISTS (SELECT 1 FROM account_balance_view v WHERE v.account_id = a.id)",
+            nativeQuery = true)
+    int enqueueUnprojectedAccounts(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "INSERT INTO account_outbox_event (account_id, created_at) " +
+            "SELECT DISTINCT account_id, CURRENT_TIMESTAMP FROM balance_movement WHERE posting_chunk_id = :chunkId",
+            nativeQuery = true)
+    int enqueuePostingChunk(@Param("chunkId") long chunkId);
+}
@@ -1,12 +1,67 @@
 package com.banking.account_service.repositories;
 
 import com.banking.account_service.entities.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByIban(String iban);
-}
\ No newline at end of file
+
+    /**
+     * Loads the account and locks its row until the transaction ends, so balance checks and
+     * updates made under the lock cannot interleave with another writer of the same account.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.iban = :iban")
+    Optional<Account> findByIbanForUpdate(@Param("iban") String iban);
+
+    /**
+     * Loads the account together with its balances, so they can be read after the query's
+     * session has closed (e.g. outside a transaction).
+     */
+    @Query("select a from Account a left join fetch a.balances where a.iban = :iban")
+    Optional<Account> findWithBalancesByIban(@Param("iban") String iban);
+
+    @Query("select distinct a from Account a left join fetch a.balances where a.id in :ids")
+    List<Account> findAllWithBalancesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct a from Account a left join fetch a.balances where a.iban in :ibans")
+    List<Account> findAllWithBalancesByIbanIn(@Param("ibans") Collection<String> ibans);
+
+    @Query("select min(a.id) from Account a")
+    Long findMinId();
+
+    @Query("select max(a.id) from Account a")
+    Long findMaxId();
+
+    long countByIdBetween(Long fromId, Long toId);
+
+    /**
+     * Keyset step: the id {@code offset} positions after {@code afterId}, or {@code null} if there are fewer accounts left.
+     */
+    @Query(value = "SELECT id FROM account WHERE id > :afterId ORDER BY id LIMIT 1 OFFSET :offset", nativeQuery = true)
+    Long findIdAfter(@Param("afterId") long afterId, @Param("offset") int offset);
+
+    @Query("select max(a.id) from Account a where a.id > :afterId")
+    Long findMaxIdAfter(@Param("afterId") long afterId);
+
+    @Query(value = "SELECT DISTINCT currency FROM account_balances WHERE account_id BETWEEN :fromId AND :toId", nativeQuery = true)
+    List<String> findBalanceCurrencies(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Locks the accounts in the id range, in id order, until the transaction ends. Bulk
+     * postings take these locks before touching the balances, so they serialize with the
+     * per-account writers that lock through {@link #findByIbanForUpdate(String)}.
+     */
+    @Query(value = "SELECT id FROM account WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+}
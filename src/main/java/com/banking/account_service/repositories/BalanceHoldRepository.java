@@ -0,0 +1,34 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.BalanceHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceHoldRepository extends JpaRepository<BalanceHold, Long> {
+
+    @Query("select coalesce(sum(h.amount), 0) from BalanceHold h where h.accountId = :accountId and h.currency = :currency " +
+            "and h.status = com.banking.account_service.entities.BalanceHold.Status.ACTIVE and h.expiresAt > :now")
+    BigDecimal sumActiveAmount(@Param("accountId") Long accountId, @Param("currency") String currency, @Param("now") Instant now);
+
+    List<BalanceHold> findByStatusAndIdGreaterThanOrderByIdAsc(BalanceHold.Status status, Long id, Pageable pageable);
+
+    @Modifying
+    @Query("update BalanceHold h set h.status = :target where h.id = :id " +
+            "and h.status = com.banking.account_service.entities.BalanceHold.Status.ACTIVE and h.expiresAt > :now")
+    int closeActive(@Param("id") Long id, @Param("target") BalanceHold.Status target, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update BalanceHold h set h.status = com.banking.account_service.entities.BalanceHold.Status.EXPIRED " +
+            "where h.id in :ids and h.status = com.banking.account_service.entities.BalanceHold.Status.ACTIVE")
+    int expire(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,103 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.BalanceMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceMovementRepository extends JpaRepository<BalanceMovement, Long> {
+
+    /**
+     * Compares the stored balances of the accounts in the id range with the sum of their
+     * movements, in a single statement so both sides come from the same snapshot. Currencies
+     * with movements but no stored balance are reported with a {@code null} stored balance.
+     *
+     * @return one row per mismatching balance: account id, currency, stored balance, recomputed balance
+     */
+    @Query(value = """
+            SELECT b.account_id, b.currency, b.balance, COALESCE(m.total, 0)
+            FROM account_balances b
+            LEFT JOIN (SELECT account_id, currency, SUM(amount) AS total
+                       FROM balance_movement
+                       WHERE account_id BETWEEN :fromId AND :toId
+                       GROUP BY account_id, currency) m
+                   ON m.account_id = b.account_id AND m.currency = b.currency
+            WHERE b.account_id BETWEEN :fromId AND :toId
+              AND b.balance <> COALESCE(m.total, 0)
+            UNION ALL
+            SELECT m.account_id, m.currency, CAST(NULL AS NUMERIC(38, 2)), SUM(m.amount)
+            FROM balance_movement m
+            WHERE m.account_id BETWEEN :fromId AND :toId
+              AND NOT EXISTS (SELECT 1 FROM account_balances b
+                              WHERE b.account_id = m.account_id AND b.currency = m.currency)
+            GROUP BY m.account_id, m.currency
+            """, nativeQuery = true)
+    List<Object[]> findDiscrepancies(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Writes the interest movements of a posting chunk: {@code balance * rate}, rounded to
+     * {@code scale} decimals, for every positive balance in one of the given currencies of the
+     * accounts in the range.
+     *
+     * @return the number of movements written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_movement (account_id, currency, amount, type, created_at, posting_chunk_id)
+            SELECT b.account_id, b.currency, ROUND(b.balance * :rate, :scale), 'INTEREST', CURRENT_TIMESTAMP, :chunkId
+            FROM account_balances b
+            WHERE b.account_id BETWEEN :fromId AND :toId
+              AND b.currency IN (:currencies)
+              AND b.balance > 0
+              AND ROUND(b.balance * :rate, :scale) <> 0
+            """, nativeQuery = true)
+    int insertInterest(@Param("chunkId") long chunkId, @Param("fromId") long fromId, @Param("toId") long toId,
+                       @Param("currencies") Collection<String> currencies, @Param("rate") BigDecimal rate,
+                       @Param("scale") int scale);
+
+    /**
+     * Writes the fee movements of a posting chunk for every balance of the accounts in the
+     * range whose available funds, net of active holds, can cover the fee; other balances
+     * are skipped.
+     *
+     * @return the number of movements written
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO balance_movement (account_id, currency, amount, type, created_at, posting_chunk_id)
+            SELECT b.account_id, b.currency, -CAST(:fee AS NUMERIC(38, 2)), 'FEE', CURRENT_TIMESTAMP, :chunkId
+            FROM account_balances b
+            WHERE b.account_id BETWEEN :fromId AND :toId
+              AND b.currency = COALESCE(CAST(:currency AS VARCHAR), b.currency)
+              AND b.balance - COALESCE((SELECT SUM(h.amount) FROM balance_hold h
+                                        WHERE h.account_id = b.account_id AND h.currency = b.currency
+                                          AND h.status = 'ACTIVE' AND h.expires_at > CURRENT_TIMESTAMP), 0) >= :fee
+            """, nativeQuery = true)
+    int insertFee(@Param("chunkId") long chunkId, @Param("fromId") long fromId, @Param("toId") long toId,
+                  @Param("currency") String currency, @Param("fee") BigDecimal fee);
+
+    /**
+     * Applies the movements written by a posting chunk to the stored balances.
+     *
+     * @return the number of balances updated
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE account_balances b
+            SET balance = balance + (SELECT m.amount FROM balance_movement m
+                                     WHERE m.posting_chunk_id = :chunkId
+                                       AND m.account_id = b.account_id AND m.currency = b.currency)
+            WHERE b.account_id BETWEEN :fromId AND :toId
+              AND EXISTS (SELECT 1 FROM balance_movement m
+                          WHERE m.posting_chunk_id = :chunkId
+                            AND m.account_id = b.account_id AND m.currency = b.currency)
+            """, nativeQuery = true)
+    int applyPostingChunk(@Param("chunkId") long chunkId, @Param("fromId") long fromId, @Param("toId") long toId);
+}
@@ -0,0 +1,34 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.PostingChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostingChunkRepository extends JpaRepository<PostingChunk, Long> {
+
+    List<PostingChunk> findByRunIdAndStatusOrderByFromAccountIdAsc(Long runId, PostingChunk.Status status);
+
+    /**
+     * Marks a pending chunk as done at the start of its posting transaction. The row stays
+     * locked until that transaction ends, and a chunk already done is never claimed again.
+     *
+     * @return 1 if the chunk was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("update PostingChunk c set c.status = com.banking.account_service.entities.PostingChunk.Status.DONE " +
+            "where c.id = :id and c.status = com.banking.account_service.entities.PostingChunk.Status.PENDING")
+    int claim(@Param("id") Long id);
+
+    @Modifying
+    @Query("update PostingChunk c set c.postedCount = :postedCount where c.id = :id")
+    int recordPostedCount(@Param("id") Long id, @Param("postedCount") int postedCount);
+
+    @Query("select coalesce(sum(c.postedCount), 0) from PostingChunk c where c.runId = :runId")
+    long sumPostedCount(@Param("runId") Long runId);
+}
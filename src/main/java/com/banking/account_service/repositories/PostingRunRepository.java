@@ -0,0 +1,16 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.PostingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostingRunRepository extends JpaRepository<PostingRun, Long> {
+
+    Optional<PostingRun> findByRunKey(String runKey);
+
+    List<PostingRun> findByStatus(PostingRun.Status status);
+}
@@ -0,0 +1,12 @@
+package com.banking.account_service.repositories;
+
+import com.banking.account_service.entities.ReconciliationDiscrepancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+    List<ReconciliationDiscrepancy> findByRunIdOrderByAccountIdAsc(String runId);
+}
@@ -1,39 +1,117 @@
 package com.banking.account_service.services;
 
 import com.banking.account_service.dto.AccountBalanceResponse;
+import com.banking.account_service.dto.BatchBalanceResponse;
 import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceMovement;
+import com.banking.account_service.error.AccountError;
 import com.banking.account_service.error.CustomException;
 import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.timing.RequestTimings;
 import com.banking.account_service.utils.AccountUtils;
 import com.banking.account_service.utils.Constants;
 import jakarta.transaction.Transactional;
-import org.springframework.http.HttpStatus;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class AccountService {
 
     private final AccountRepository accountRepository;
     private final AccountUtils accountUtils;
+    private final BalanceProjectionService balanceProjection;
+    private final BalanceHoldRepository holdRepository;
+    private final BalanceMovementRepository movementRepository;
 
-    public AccountService(AccountRepository accountRepository, AccountUtils accountUtils) {
+    public AccountService(AccountRepository accountRepository, AccountUtils accountUtils,
+                          BalanceProjectionService balanceProjection, BalanceHoldRepository holdRepository,
+                          BalanceMovementRepository movementRepository) {
         this.accountRepository = accountRepository;
         this.accountUtils = accountUtils;
+        this.balanceProjection = balanceProjection;
+        this.holdRepository = holdRepository;
+        this.movementRepository = movementRepository;
     }
 
     /**
      * Retrieves the account balance details for the given IBAN.
+     * Served from the balance projection while it is within its staleness bound,
+     * otherwise read from the account itself.
      *
      * @param iban the International Bank Account Number (IBAN) of the account whose balance is to be retrieved
      * @return an {@link AccountBalanceResponse} containing the IBAN and the associated balances
      * @throws CustomException if no account with the given IBAN is found
      */
     public AccountBalanceResponse getBalance(String iban) {
-        Account account = accountUtils.findAccountByIbanOrThrow(accountRepository, iban);
-        return new AccountBalanceResponse(account.getIban(), account.getBalances());
+        return tryGetBalance(iban).orElseThrow();
+    }
+
+    /**
+     * Retrieves the account balance details for the given IBAN, returning a rejection instead of throwing.
+     *
+     * @param iban the International Bank Account Number (IBAN) of the account whose balance is to be retrieved
+     * @return the {@link AccountBalanceResponse} on success, or the rejection that prevented it
+     */
+    public OperationResult<AccountBalanceResponse> tryGetBalance(String iban) {
+        Optional<AccountBalanceResponse> projected = balanceProjection.findBalance(iban);
+        if (projected.isPresent()) {
+            return OperationResult.success(projected.get());
+        }
+
+        // No transaction here, so the balances are fetched with the account rather than loaded lazily
+        Instant readAt = Instant.now();
+        return accountUtils.findAccountWithBalancesByIban(accountRepository, iban)
+                .flatMap(account -> {
+                    AccountBalanceResponse response = new AccountBalanceResponse(account.getIban(), account.getBalances());
+                    response.setAsOf(readAt);
+                    return OperationResult.success(response);
+                });
+    }
+
+    /**
+     * Retrieves the balances of several accounts at once. IBANs are resolved with one
+     * {@code IN} query per chunk of {@link Constants#BATCH_LOOKUP_CHUNK_SIZE} that fetches the
+     * balances in the same round trip. Unknown IBANs are reported individually instead of
+     * failing the whole lookup.
+     *
+     * @param ibans the IBANs of the accounts to look up; duplicates are ignored
+     * @return a {@link BatchBalanceResponse} with the balances found and the IBANs not found
+     */
+    public BatchBalanceResponse getBalances(List<String> ibans) {
+
+        Instant readAt = Instant.now();
+        List<String> distinctIbans = ibans.stream().distinct().toList();
+
+        Map<String, AccountBalanceResponse> found = new HashMap<>(distinctIbans.size() * 2);
+        for (int from = 0; from < distinctIbans.size(); from += Constants.BATCH_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = distinctIbans.subList(from, Math.min(from + Constants.BATCH_LOOKUP_CHUNK_SIZE, distinctIbans.size()));
+            for (Account account : accountRepository.findAllWithBalancesByIbanIn(chunk)) {
+                AccountBalanceResponse balance = new AccountBalanceResponse(account.getIban(), account.getBalances());
+                balance.setAsOf(readAt);
+                found.put(account.getIban(), balance);
+            }
+        }
+
+        // Keep the request order and mark every IBAN that did not resolve
+        BatchBalanceResponse response = new BatchBalanceResponse();
+        for (String iban : distinctIbans) {
+            AccountBalanceResponse balance = found.get(iban);
+            if (balance == null) {
+                response.getNotFound().add(iban);
+            } else {
+                response.getBalances().put(iban, balance);
+            }
+        }
+        return response;
     }
 
     /**
@@ -44,28 +122,52 @@ public class AccountService {
      * @param currency the currency in which the deposit is made
      * @param amount   the amount to be deposited into the account
      * @return the updated Account object with the new balance
+     * @throws CustomException if the account or the currency does not exist
      */
     @Transactional
     public Account deposit(String iban, String currency, BigDecimal amount) {
+        return tryDeposit(iban, currency, amount).orElseThrow();
+    }
 
-        Account account = accountUtils.findAccountByIbanOrThrow(accountRepository, iban);
-        accountUtils.validateCurrency(currency);
+    /**
+     * Deposits the specified amount, returning a rejection instead of throwing.
+     *
+     * @param iban     the International Bank Account Number (IBAN) for the account to deposit into
+     * @param currency the currency in which the deposit is made
+     * @param amount   the amount to be deposited into the account
+     * @return the updated {@link Account} on success, or the rejection that prevented the deposit
+     */
+    @Transactional
+    public OperationResult<Account> tryDeposit(String iban, String currency, BigDecimal amount) {
+
+        // Locked, so a concurrent bulk posting cannot be overwritten by this read-modify-write
+        OperationResult<Account> lookup = accountUtils.findAccountByIbanForUpdate(accountRepository, iban);
+        if (!(lookup instanceof OperationResult.Success<Account>(Account account))) {
+            return lookup;
+        }
+        if (accountUtils.checkCurrency(currency) instanceof OperationResult.Rejected<String> rejected) {
+            return rejected.asRejection();
+        }
 
         // Retrieve the current balance for the given currency in the account
-        Map<String, BigDecimal> balances = account.getBalances();
+        Map<String, BigDecimal> balances = loadBalances(account);
         BigDecimal currentBalance = balances.getOrDefault(currency, BigDecimal.ZERO);
 
         // Add the deposit amount to the current balance
         balances.put(currency, currentBalance.add(amount));
         account.setBalances(balances);
 
-        // Save the updated account
-        return accountRepository.save(account);
+        // Save the updated account, record the movement and publish the change to the read model
+        Account saved = saveAndFlush(account);
+        movementRepository.save(new BalanceMovement(saved.getId(), currency, amount, BalanceMovement.Type.DEPOSIT, Instant.now()));
+        balanceProjection.recordChange(saved);
+        return OperationResult.success(saved);
     }
 
     /**
      * Deducts a specified amount from the balance of a given account and currency.
-     * If the balance is insufficient for the requested deduction, an exception is thrown.
+     * Funds reserved by active holds are not available for debits.
+     * If the available balance is insufficient for the requested deduction, an exception is thrown.
      *
      * @param iban     the International Bank Account Number (IBAN) of the account to be debited
      * @param currency the currency in which the debit operation will be performed
@@ -75,30 +177,43 @@ public class AccountService {
      */
     @Transactional
     public Account debit(String iban, String currency, BigDecimal amount) {
+        return tryDebit(iban, currency, amount).orElseThrow();
+    }
+
+    /**
+     * Deducts a specified amount, returning a rejection instead of throwing. Insufficient funds
+     * and unknown IBANs are common outcomes, so this path never builds an exception.
+     *
+     * @param iban     the International Bank Account Number (IBAN) of the account to be debited
+     * @param currency the currency in which the debit operation will be performed
+     * @param amount   the amount to be debited from the account
+     * @return the updated {@link Account} on success, or the rejection that prevented the debit
+     */
+    @Transactional
+    public OperationResult<Account> tryDebit(String iban, String currency, BigDecimal amount) {
 
-        Account account = accountUtils.findAccountByIbanOrThrow(accountRepository, iban);
-        accountUtils.validateCurrency(currency);
+        // Locked, so a concurrent hold or debit cannot spend the same funds
+        OperationResult<Account> lookup = accountUtils.findAccountByIbanForUpdate(accountRepository, iban);
+        if (!(lookup instanceof OperationResult.Success<Account>(Account account))) {
+            return lookup;
+        }
+        if (accountUtils.checkCurrency(currency) instanceof OperationResult.Rejected<String> rejected) {
+            return rejected.asRejection();
+        }
 
         // Retrieve the current balance for the given currency in the account
-        Map<String, BigDecimal> balances = account.getBalances();
-        BigDecimal currentBalance = account.getBalances().getOrDefault(currency, BigDecimal.ZERO);
+        Map<String, BigDecimal> balances = loadBalances(account);
+        BigDecimal currentBalance = balances.get(currency);
 
         // Verify if the account contains the specified currency
-        if (!balances.containsKey(currency)) {
-            throw new CustomException(
-                    "The currency '" + currency + "' is not available for IBAN '" + iban + "'.",
-                    HttpStatus.BAD_REQUEST.value(),
-                    Constants.ERROR_INVALID_CURRENCY
-            );
+        if (currentBalance == null) {
+            return OperationResult.rejected(AccountError.CURRENCY_NOT_AVAILABLE, currency, iban);
         }
 
-        // Check if sufficient funds are available after subtracting the requested amount
-        if (currentBalance.compareTo(amount) < 0) {
-            throw new CustomException(
-                    "Insufficient funds for IBAN '" + iban + "'. The withdrawal amount of " + amount + " exceeds the available balance of " + currentBalance + ".",
-                    HttpStatus.UNPROCESSABLE_ENTITY.value(),
-                    Constants.ERROR_INSUFFICIENT_FUNDS
-            );
+        // Check if sufficient funds, net of active holds, are available for the requested amount
+        BigDecimal available = currentBalance.subtract(holdRepository.sumActiveAmount(account.getId(), currency, Instant.now()));
+        if (available.compareTo(amount) < 0) {
+            return OperationResult.rejected(AccountError.INSUFFICIENT_FUNDS, iban, amount, available);
         }
 
         // Subtract the amount and update the balance
@@ -106,8 +221,28 @@ public class AccountService {
         balances.put(currency, updatedBalance);
         account.setBalances(balances);
 
-        // Save the updated account to the database
-        return accountRepository.save(account);
+        // Save the updated account to the database, record the movement and publish the change to the read model
+        Account saved = saveAndFlush(account);
+        movementRepository.save(new BalanceMovement(saved.getId(), currency, amount.negate(), BalanceMovement.Type.DEBIT, Instant.now()));
+        balanceProjection.recordChange(saved);
+        return OperationResult.success(saved);
+    }
+
+    // Forces the lazy balance collection to load here, so its cost is timed as its own phase
+    private Map<String, BigDecimal> loadBalances(Account account) {
+        long start = RequestTimings.start();
+        Map<String, BigDecimal> balances = account.getBalances();
+        Hibernate.initialize(balances);
+        RequestTimings.stop("balances", start);
+        return balances;
+    }
+
+    // Flushes inside the call rather than at commit, so the write cost is timed as the save phase
+    private Account saveAndFlush(Account account) {
+        long start = RequestTimings.start();
+        Account saved = accountRepository.saveAndFlush(account);
+        RequestTimings.stop("save", start);
+        return saved;
     }
 
 }
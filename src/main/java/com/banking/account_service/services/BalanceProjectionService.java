@@ -0,0 +1,195 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.AccountBalanceResponse;
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.AccountBalanceView;
+import com.banking.account_service.entities.AccountOutboxEvent;
+import com.banking.account_service.repositories.AccountBalanceViewRepository;
+import com.banking.account_service.repositories.AccountOutboxEventRepository;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.timing.RequestTimings;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the read-side balance projection ({@link AccountBalanceView}).
+ * Writers only append an {@link AccountOutboxEvent}; this service polls the outbox in
+ * batches, re-serializes the affected accounts and removes the applied events.
+ * The projection is considered complete up to {@link #getProjectedUpTo()}, and reads
+ * fall back to the write model whenever it lags behind by more than the configured bound.
+ */
+@Slf4j
+@Service
+public class BalanceProjectionService {
+
+    private static final TypeReference<Map<String, BigDecimal>> BALANCES_TYPE = new TypeReference<>() {};
+
+    private final AccountRepository accountRepository;
+    private final AccountOutboxEventRepository outboxRepository;
+    private final AccountBalanceViewRepository viewRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int rebuildPageSize;
+    private final Duration maxStaleness;
+
+    private volatile Instant projectedUpTo;
+
+    public BalanceProjectionService(AccountRepository accountRepository,
+                                    AccountOutboxEventRepository outboxRepository,
+                                    AccountBalanceViewRepository viewRepository,
+                                    ObjectMapper objectMapper,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${account.projection.batch-size:500}") int batchSize,
+                                    @Value("${account.projection.rebuild-page-size:10000}") int rebuildPageSize,
+                                    @Value("${account.projection.max-staleness-ms:2000}") long maxStalenessMs) {
+        this.accountRepository = accountRepository;
+        this.outboxRepository = outboxRepository;
+        this.viewRepository = viewRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.rebuildPageSize = rebuildPageSize;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+    }
+
+    /**
+     * Records that the balances of the given account changed. Must be called inside the
+     * transaction that modifies the account so the event commits (or rolls back) with it.
+     *
+     * @param account the account whose balances were modified
+     */
+    public void recordChange(Account account) {
+        outboxRepository.save(new AccountOutboxEvent(account.getId(), Instant.now()));
+    }
+
+    /**
+     * Returns the projected balances for the given IBAN when the projection is within the
+     * staleness bound. An empty result means the caller must read from the write model,
+     * either because the projection is lagging or because the IBAN has not been projected.
+     *
+     * @param iban the IBAN of the account
+     * @return the projected {@link AccountBalanceResponse}, stamped with the projection watermark
+     */
+    public Optional<AccountBalanceResponse> findBalance(String iban) {
+        Instant watermark = projectedUpTo;
+        if (watermark == null || Duration.between(watermark, Instant.now()).compareTo(maxStaleness) > 0) {
+            return Optional.empty();
+        }
+
+        long start = RequestTimings.start();
+        Optional<AccountBalanceResponse> balance = viewRepository.findById(iban).map(view -> {
+            AccountBalanceResponse response = new AccountBalanceResponse(view.getIban(), deserialize(view.getBalancesJson()));
+            response.setAsOf(watermark);
+            return response;
+        });
+        RequestTimings.stop("projection", start);
+        return balance;
+    }
+
+    /**
+     * Point in time up to which every committed balance change has been applied to the
+     * projection, or {@code null} before the first poll completes.
+     */
+    public Instant getProjectedUpTo() {
+        return projectedUpTo;
+    }
+
+    /**
+     * Seeds the outbox on startup with the accounts that have no projection row yet, including
+     * rows loaded outside the service (e.g. {@code data.sql}). Accounts already projected are
+     * left alone: their pending changes are still in the outbox. The account ids are walked
+     * with keyset pagination, one transaction per page, so no single insert grows with the
+     * number of accounts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        long enqueued = 0;
+        long afterId = 0;
+        while (true) {
+            Long toId = accountRepository.findIdAfter(afterId, rebuildPageSize - 1);
+            if (toId == null) {
+                toId = accountRepository.findMaxIdAfter(afterId);
+                if (toId == null) {
+                    break;
+                }
+            }
+            long fromId = afterId + 1;
+            long lastId = toId;
+            Integer page = transactionTemplate.execute(status -> outboxRepository.enqueueUnprojectedAccounts(fromId, lastId));
+            enqueued += page == null ? 0 : page;
+            afterId = toId;
+        }
+        log.info("Balance projection rebuild: {} unprojected accounts enqueued", enqueued);
+    }
+
+    /**
+     * Applies the next batch of outbox events to the projection and advances the watermark
+     * once the batch has committed.
+     */
+    @Scheduled(fixedDelayString = "${account.projection.poll-interval-ms:200}")
+    public void pollOutbox() {
+        Instant pollStartedAt = Instant.now();
+        projectedUpTo = transactionTemplate.execute(status -> projectNextBatch(pollStartedAt));
+    }
+
+    private Instant projectNextBatch(Instant pollStartedAt) {
+
+        List<AccountOutboxEvent> batch = outboxRepository.findBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return pollStartedAt;
+        }
+
+        // Several events for the same account collapse into a single projection update
+        List<Long> accountIds = batch.stream().map(AccountOutboxEvent::getAccountId).distinct().toList();
+        List<AccountBalanceView> views = accountRepository.findAllWithBalancesByIdIn(accountIds).stream()
+                .map(account -> new AccountBalanceView(account.getIban(), account.getId(),
+                        serialize(account.getBalances()), pollStartedAt))
+                .toList();
+
+        viewRepository.saveAll(views);
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(AccountOutboxEvent::getId).toList());
+
+        // A full batch means events are still pending; the oldest of them bounds the watermark
+        if (batch.size() < batchSize) {
+            return pollStartedAt;
+        }
+        return outboxRepository.findFirstByOrderByIdAsc()
+                .map(AccountOutboxEvent::getCreatedAt)
+                .orElse(pollStartedAt);
+    }
+
+    private String serialize(Map<String, BigDecimal> balances) {
+        try {
+            return objectMapper.writeValueAsString(balances);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize balances", e);
+        }
+    }
+
+    private Map<String, BigDecimal> deserialize(String balancesJson) {
+        try {
+            return objectMapper.readValue(balancesJson, BALANCES_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to deserialize projected balances", e);
+        }
+    }
+
+}
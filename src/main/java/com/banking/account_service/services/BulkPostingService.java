@@ -0,0 +1,359 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.entities.PostingChunk;
+import com.banking.account_service.entities.PostingRun;
+import com.banking.account_service.error.AccountError;
+import com.banking.account_service.error.CustomException;
+import com.banking.account_service.repositories.AccountOutboxEventRepository;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.repositories.PostingChunkRepository;
+import com.banking.account_service.repositories.PostingRunRepository;
+import com.banking.account_service.utils.AccountUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.money.Monetary;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Posts interest or a fee to every account balance with set-based SQL instead of one
+ * deposit or debit per balance.
+ *
+ * <p>A run walks the account ids with keyset pagination. Each page becomes a persisted
+ * {@link PostingChunk}, and the run's checkpoint advances in the same transaction. Chunks
+ * are posted in parallel, each in a single transaction that claims the chunk, locks its
+ * accounts, writes its {@link com.banking.account_service.entities.BalanceMovement}s, applies
+ * them to {@code account_balances} and enqueues the changes for the balance projection. A chunk is
+ * therefore either fully posted and done, or untouched and pending. After a crash, a run
+ * resumes by re-posting its pending chunks and then continues walking from its checkpoint,
+ * so no balance is posted twice.</p>
+ */
+@Slf4j
+@Service
+public class BulkPostingService {
+
+    private static final int BALANCE_SCALE = 2;
+
+    private final AccountRepository accountRepository;
+    private final BalanceMovementRepository movementRepository;
+    private final AccountOutboxEventRepository outboxRepository;
+    private final PostingRunRepository runRepository;
+    private final PostingChunkRepository chunkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountUtils accountUtils;
+    private final int parallelism;
+    private final int chunkSize;
+
+    // Owned and shut down by this service; Executor beans would switch off Spring Boot's applicationTaskExecutor
+    private final ThreadPoolTaskExecutor runExecutor;
+    private final ThreadPoolTaskExecutor chunkExecutor;
+
+    // Runs executing in this instance, so a repeated request does not start a second coordinator
+    private final Set<String> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public BulkPostingService(AccountRepository accountRepository,
+                              BalanceMovementRepository movementRepository,
+                              AccountOutboxEventRepository outboxRepository,
+                              PostingRunRepository runRepository,
+                              PostingChunkRepository chunkRepository,
+                              TransactionTemplate transactionTemplate,
+                              AccountUtils accountUtils,
+                              @Value("${account.posting.parallelism:4}") int parallelism,
+                              @Value("${account.posting.chunk-size:5000}") int chunkSize,
+                              @Value("${account.posting.max-concurrent-runs:2}") int maxConcurrentRuns,
+                              @Value("${account.posting.shutdown-timeout-seconds:30}") int shutdownTimeoutSeconds) {
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.outboxRepository = outboxRepository;
+        this.runRepository = runRepository;
+        this.chunkRepository = chunkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.accountUtils = accountUtils;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+
+        // Coordinators are interrupted on shutdown; their runs stay RUNNING and resume on the next start
+        this.runExecutor = executor("posting-run-", maxConcurrentRuns, false, 0);
+        // Chunks already submitted are allowed to commit before the data source closes
+        this.chunkExecutor = executor("posting-chunk-", parallelism, true, shutdownTimeoutSeconds);
+    }
+
+    /**
+     * Starts the posting identified by {@code runKey}, or resumes it if it exists and has not
+     * completed. A completed run is returned as is; the rule of an existing run is never changed.
+     *
+     * @param runKey   unique key of the posting, e.g. {@code interest-2025-03}
+     * @param type     whether to post interest or a fee
+     * @param currency the currency to post to, or {@code null} for every currency (interest only)
+     * @param amount   the interest rate, or the fee per balance
+     * @return the persisted {@link PostingRun}
+     * @throws CustomException if the currency is missing for a fee or unknown, or if the run key
+     *                         is already used by a posting with a different rule
+     */
+    public PostingRun start(String runKey, PostingRun.Type type, String currency, BigDecimal amount) {
+        return tryStart(runKey, type, currency, amount).orElseThrow();
+    }
+
+    /**
+     * Starts or resumes the posting identified by {@code runKey}, returning a rejection instead of throwing.
+     *
+     * @param runKey   unique key of the posting, e.g. {@code interest-2025-03}
+     * @param type     whether to post interest or a fee
+     * @param currency the currency to post to, or {@code null} for every currency (interest only)
+     * @param amount   the interest rate, or the fee per balance
+     * @return the persisted {@link PostingRun} on success, or the rejection that prevented the start
+     */
+    public OperationResult<PostingRun> tryStart(String runKey, PostingRun.Type type, String currency, BigDecimal amount) {
+
+        // A fee is a nominal amount, so charging it in every currency would charge different values
+        if (currency == null && type == PostingRun.Type.FEE) {
+            return OperationResult.rejected(AccountError.POSTING_CURRENCY_REQUIRED, type);
+        }
+        // Checked before the run is created, so a typo does not use up the run key
+        if (currency != null && accountUtils.checkCurrency(currency) instanceof OperationResult.Rejected<String> rejected) {
+            return rejected.asRejection();
+        }
+
+        PostingRun run = runRepository.findByRunKey(runKey).orElseGet(() -> {
+            try {
+                return runRepository.save(new PostingRun(runKey, type, currency, amount, Instant.now()));
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently under the same key
+                return runRepository.findByRunKey(runKey).orElseThrow(() -> e);
+            }
+        });
+
+        if (!hasRule(run, type, currency, amount)) {
+            return OperationResult.rejected(AccountError.POSTING_RUN_CONFLICT, runKey);
+        }
+        if (run.getStatus() != PostingRun.Status.COMPLETED) {
+            launch(run);
+        }
+        return OperationResult.success(run);
+    }
+
+    /**
+     * @param runKey the key of the posting
+     * @return the posting run, if it exists
+     */
+    public Optional<PostingRun> find(String runKey) {
+        return runRepository.findByRunKey(runKey);
+    }
+
+    /**
+     * Resumes the runs that were still running when the service stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        runRepository.findByStatus(PostingRun.Status.RUNNING).forEach(run -> {
+            log.info("Resuming posting run '{}' from account id {}", run.getRunKey(), run.getLastPlannedAccountId());
+            launch(run);
+        });
+    }
+
+    /**
+     * Stops the posting threads with the application context: running coordinators are
+     * interrupted, then the chunks already submitted are given time to commit.
+     */
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdown();
+        chunkExecutor.shutdown();
+    }
+
+    private static boolean hasRule(PostingRun run, PostingRun.Type type, String currency, BigDecimal amount) {
+        return run.getType() == type
+                && Objects.equals(run.getCurrency(), currency)
+                && run.getAmount().compareTo(amount) == 0;
+    }
+
+    private void launch(PostingRun run) {
+        if (!activeRuns.add(run.getRunKey())) {
+            return;
+        }
+        try {
+            runExecutor.execute(() -> {
+                try {
+                    execute(run.getId());
+                } finally {
+                    activeRuns.remove(run.getRunKey());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            activeRuns.remove(run.getRunKey());
+            throw e;
+        }
+    }
+
+    private void execute(Long runId) {
+
+        PostingRun run = runRepository.findById(runId).orElseThrow();
+        run.setStatus(PostingRun.Status.RUNNING);
+        run.setError(null);
+        runRepository.save(run);
+
+        // Bounds the chunks planned ahead of the workers
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<Void>> submitted = new ArrayList<>();
+
+        try {
+            // Chunks planned before an interruption are posted first, with their original boundaries
+            for (PostingChunk chunk : chunkRepository.findByRunIdAndStatusOrderByFromAccountIdAsc(runId, PostingChunk.Status.PENDING)) {
+                submitted.add(submit(inFlight, failure, run, chunk));
+            }
+
+            long afterId = run.getLastPlannedAccountId();
+            while (failure.get() == null) {
+                Long toId = accountRepository.findIdAfter(afterId, chunkSize - 1);
+                if (toId == null) {
+                    toId = accountRepository.findMaxIdAfter(afterId);
+                    if (toId == null) {
+                        break;
+                    }
+                }
+                PostingChunk chunk = planChunk(runId, afterId + 1, toId);
+                submitted.add(submit(inFlight, failure, run, chunk));
+                afterId = toId;
+            }
+
+            // Chunk failures are collected by submit; waiting only has to be interruptible
+            CompletableFuture.allOf(submitted.toArray(CompletableFuture[]::new)).exceptionally(ignored -> null).get();
+        } catch (InterruptedException | TaskRejectedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Posting run '{}' stopped by shutdown; it resumes from its checkpoint on the next start", run.getRunKey());
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        run = runRepository.findById(runId).orElseThrow();
+        run.setPostedBalances(chunkRepository.sumPostedCount(runId));
+        if (failure.get() == null) {
+            run.setStatus(PostingRun.Status.COMPLETED);
+            run.setCompletedAt(Instant.now());
+            log.info("Posting run '{}' completed: {} balances posted", run.getRunKey(), run.getPostedBalances());
+        } else {
+            run.setStatus(PostingRun.Status.FAILED);
+            run.setError(failure.get().getMessage());
+            log.error("Posting run '{}' failed; it resumes from its checkpoint when started again", run.getRunKey(), failure.get());
+        }
+        runRepository.save(run);
+    }
+
+    // Persists the chunk and advances the run's checkpoint atomically
+    private PostingChunk planChunk(Long runId, long fromId, long toId) {
+        return transactionTemplate.execute(status -> {
+            PostingChunk chunk = chunkRepository.save(new PostingChunk(runId, fromId, toId));
+            PostingRun run = runRepository.findById(runId).orElseThrow();
+            run.setLastPlannedAccountId(toId);
+            return chunk;
+        });
+    }
+
+    private CompletableFuture<Void> submit(Semaphore inFlight, AtomicReference<Throwable> failure,
+                                           PostingRun run, PostingChunk chunk) throws InterruptedException {
+        inFlight.acquire();
+        return CompletableFuture.runAsync(() -> {
+                    if (failure.get() == null) {
+                        postChunk(run, chunk);
+                    }
+                }, chunkExecutor)
+                .whenComplete((ignored, error) -> {
+                    inFlight.release();
+                    if (error != null) {
+                        failure.compareAndSet(null, error.getCause() != null ? error.getCause() : error);
+                    }
+                });
+    }
+
+    private void postChunk(PostingRun run, PostingChunk chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (chunkRepository.claim(chunk.getId()) == 0) {
+                return;
+            }
+
+            long chunkId = chunk.getId();
+            long fromId = chunk.getFromAccountId();
+            long toId = chunk.getToAccountId();
+
+            // Deposits, debits and captures lock their account as well, so none of them can
+            // write back a balance it read before this chunk committed
+            accountRepository.lockIdRange(fromId, toId);
+
+            int movements = switch (run.getType()) {
+                case INTEREST -> insertInterest(run, chunkId, fromId, toId);
+                case FEE -> movementRepository.insertFee(chunkId, fromId, toId, run.getCurrency(), run.getAmount());
+            };
+            if (movements == 0) {
+                return;
+            }
+
+            int posted = movementRepository.applyPostingChunk(chunkId, fromId, toId);
+            outboxRepository.enqueuePostingChunk(chunkId);
+            chunkRepository.recordPostedCount(chunkId, posted);
+        });
+    }
+
+    private static ThreadPoolTaskExecutor executor(String threadNamePrefix, int threads,
+                                                   boolean completeOnShutdown, int awaitTerminationSeconds) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setWaitForTasksToCompleteOnShutdown(completeOnShutdown);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        executor.initialize();
+        return executor;
+    }
+
+    // One statement per number of fraction digits, so each currency's interest is rounded to its minor unit
+    private int insertInterest(PostingRun run, long chunkId, long fromId, long toId) {
+
+        List<String> currencies = run.getCurrency() != null
+                ? List.of(run.getCurrency())
+                : accountRepository.findBalanceCurrencies(fromId, toId);
+
+        int movements = 0;
+        Map<Integer, List<String>> currenciesByScale = currencies.stream()
+                .collect(Collectors.groupingBy(BulkPostingService::interestScale));
+        for (Map.Entry<Integer, List<String>> entry : currenciesByScale.entrySet()) {
+            movements += movementRepository.insertInterest(chunkId, fromId, toId, entry.getValue(), run.getAmount(), entry.getKey());
+        }
+        return movements;
+    }
+
+    // The currency's default fraction digits, e.g. 0 for JPY, capped at the scale balances are stored with
+    private static int interestScale(String currency) {
+        if (!Monetary.isCurrencyAvailable(currency)) {
+            return BALANCE_SCALE;
+        }
+        int digits = Monetary.getCurrency(currency).getDefaultFractionDigits();
+        return digits < 0 ? BALANCE_SCALE : Math.min(digits, BALANCE_SCALE);
+    }
+
+}
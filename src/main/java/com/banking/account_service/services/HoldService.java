@@ -0,0 +1,301 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceHold;
+import com.banking.account_service.entities.BalanceMovement;
+import com.banking.account_service.error.AccountError;
+import com.banking.account_service.error.CustomException;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.utils.AccountUtils;
+import com.banking.account_service.utils.HierarchicalTimerWheel;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Card-style reservations on an account balance: a hold reserves funds, a capture debits
+ * (part of) them and a release returns them. Holds that are neither captured nor released
+ * expire through an in-memory {@link HierarchicalTimerWheel}, which is rebuilt from the
+ * persisted active holds on startup. Expiry timing does not affect correctness: a hold past
+ * its {@code expiresAt} no longer counts against the available balance even before the
+ * wheel marks it {@link BalanceHold.Status#EXPIRED}.
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final AccountRepository accountRepository;
+    private final BalanceHoldRepository holdRepository;
+    private final BalanceMovementRepository movementRepository;
+    private final AccountUtils accountUtils;
+    private final BalanceProjectionService balanceProjection;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final HierarchicalTimerWheel<Long> expiryWheel;
+    private final Map<Long, HierarchicalTimerWheel.Timeout<Long>> pendingExpiries = new ConcurrentHashMap<>();
+
+    public HoldService(AccountRepository accountRepository,
+                       BalanceHoldRepository holdRepository,
+                       BalanceMovementRepository movementRepository,
+                       AccountUtils accountUtils,
+                       BalanceProjectionService balanceProjection,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${account.holds.expiry-tick-ms:1000}") long expiryTickMs,
+                       @Value("${account.holds.batch-size:1000}") int batchSize) {
+        this.accountRepository = accountRepository;
+        this.holdRepository = holdRepository;
+        this.movementRepository = movementRepository;
+        this.accountUtils = accountUtils;
+        this.balanceProjection = balanceProjection;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        // 256 slots over 4 levels covers 2^32 ticks before a timeout has to wait on the top level
+        this.expiryWheel = new HierarchicalTimerWheel<>(expiryTickMs, 8, 4, System.currentTimeMillis());
+    }
+
+    /**
+     * Reserves the given amount on the account balance for the given currency.
+     *
+     * @param iban       the IBAN of the account
+     * @param currency   the currency of the balance to reserve funds on
+     * @param amount     the amount to reserve
+     * @param ttlSeconds seconds until the hold expires
+     * @return the created {@link BalanceHold}
+     * @throws CustomException if the account or currency does not exist or the available balance is insufficient
+     */
+    @Transactional
+    public BalanceHold hold(String iban, String currency, BigDecimal amount, long ttlSeconds) {
+        return tryHold(iban, currency, amount, ttlSeconds).orElseThrow();
+    }
+
+    /**
+     * Reserves the given amount, returning a rejection instead of throwing.
+     *
+     * @param iban       the IBAN of the account
+     * @param currency   the currency of the balance to reserve funds on
+     * @param amount     the amount to reserve
+     * @param ttlSeconds seconds until the hold expires
+     * @return the created {@link BalanceHold} on success, or the rejection that prevented the hold
+     */
+    @Transactional
+    public OperationResult<BalanceHold> tryHold(String iban, String currency, BigDecimal amount, long ttlSeconds) {
+
+        // Locked, so concurrent holds and debits see each other's reservations
+        OperationResult<Account> lookup = accountUtils.findAccountByIbanForUpdate(accountRepository, iban);
+        if (!(lookup instanceof OperationResult.Success<Account>(Account account))) {
+            return lookup.asRejection();
+        }
+        if (accountUtils.checkCurrency(currency) instanceof OperationResult.Rejected<String> rejected) {
+            return rejected.asRejection();
+        }
+
+        BigDecimal currentBalance = account.getBalances().get(currency);
+        if (currentBalance == null) {
+            return OperationResult.rejected(AccountError.CURRENCY_NOT_AVAILABLE, currency, iban);
+        }
+
+        // Funds already reserved by other holds are not available for a new one
+        Instant now = Instant.now();
+        BigDecimal available = currentBalance.subtract(holdRepository.sumActiveAmount(account.getId(), currency, now));
+        if (available.compareTo(amount) < 0) {
+            return OperationResult.rejected(AccountError.INSUFFICIENT_FUNDS, iban, amount, available);
+        }
+
+        BalanceHold hold = holdRepository.save(
+                new BalanceHold(account.getId(), currency, amount, now, now.plusSeconds(ttlSeconds)));
+        scheduleExpiry(hold);
+        return OperationResult.success(hold);
+    }
+
+    /**
+     * Debits a held amount from the account balance and closes the hold. Capturing less than the
+     * held amount releases the remainder.
+     *
+     * @param iban   the IBAN of the account
+     * @param holdId the identifier of the hold to capture
+     * @param amount the amount to debit, or {@code null} to capture the full held amount
+     * @return the updated {@link Account}
+     * @throws CustomException if the hold does not exist, is no longer active or is smaller than the amount
+     */
+    @Transactional
+    public Account capture(String iban, Long holdId, BigDecimal amount) {
+        return tryCapture(iban, holdId, amount).orElseThrow();
+    }
+
+    /**
+     * Captures a held amount, returning a rejection instead of throwing.
+     *
+     * @param iban   the IBAN of the account
+     * @param holdId the identifier of the hold to capture
+     * @param amount the amount to debit, or {@code null} to capture the full held amount
+     * @return the updated {@link Account} on success, or the rejection that prevented the capture
+     */
+    @Transactional
+    public OperationResult<Account> tryCapture(String iban, Long holdId, BigDecimal amount) {
+
+        OperationResult<Account> lookup = accountUtils.findAccountByIbanForUpdate(accountRepository, iban);
+        if (!(lookup instanceof OperationResult.Success<Account>(Account account))) {
+            return lookup;
+        }
+        BalanceHold hold = holdRepository.findById(holdId)
+                .filter(found -> found.getAccountId().equals(account.getId()))
+                .orElse(null);
+        if (hold == null) {
+            return OperationResult.rejected(AccountError.HOLD_NOT_FOUND, holdId, iban);
+        }
+
+        // A closed or lapsed hold is reported as such before its amount is compared with the balance
+        Instant now = Instant.now();
+        if (hold.getStatus() != BalanceHold.Status.ACTIVE || !hold.getExpiresAt().isAfter(now)) {
+            return OperationResult.rejected(AccountError.HOLD_NOT_ACTIVE, holdId);
+        }
+
+        BigDecimal captureAmount = amount == null ? hold.getAmount() : amount;
+        if (captureAmount.compareTo(hold.getAmount()) > 0) {
+            return OperationResult.rejected(AccountError.CAPTURE_EXCEEDS_HOLD, captureAmount, hold.getAmount(), holdId);
+        }
+
+        // Checked before the hold is closed: a rejection returns normally and commits
+        Map<String, BigDecimal> balances = account.getBalances();
+        BigDecimal currentBalance = balances.getOrDefault(hold.getCurrency(), BigDecimal.ZERO);
+        if (currentBalance.compareTo(captureAmount) < 0) {
+            return OperationResult.rejected(AccountError.INSUFFICIENT_FUNDS, iban, captureAmount, currentBalance);
+        }
+
+        // Conditional update, so a concurrent release or expiry cannot be captured as well
+        if (holdRepository.closeActive(holdId, BalanceHold.Status.CAPTURED, now) == 0) {
+            return OperationResult.rejected(AccountError.HOLD_NOT_ACTIVE, holdId);
+        }
+
+        balances.put(hold.getCurrency(), currentBalance.subtract(captureAmount));
+        account.setBalances(balances);
+
+        Account saved = accountRepository.save(account);
+        movementRepository.save(new BalanceMovement(saved.getId(), hold.getCurrency(), captureAmount.negate(),
+                BalanceMovement.Type.CAPTURE, Instant.now()));
+        balanceProjection.recordChange(saved);
+        cancelExpiryAfterCommit(holdId);
+        return OperationResult.success(saved);
+    }
+
+    /**
+     * Releases a hold, making its funds available again.
+     *
+     * @param iban   the IBAN of the account
+     * @param holdId the identifier of the hold to release
+     * @return the released {@link BalanceHold}
+     * @throws CustomException if the hold does not exist or is no longer active
+     */
+    @Transactional
+    public BalanceHold release(String iban, Long holdId) {
+        return tryRelease(iban, holdId).orElseThrow();
+    }
+
+    /**
+     * Releases a hold, returning a rejection instead of throwing.
+     *
+     * @param iban   the IBAN of the account
+     * @param holdId the identifier of the hold to release
+     * @return the released {@link BalanceHold} on success, or the rejection that prevented the release
+     */
+    @Transactional
+    public OperationResult<BalanceHold> tryRelease(String iban, Long holdId) {
+
+        OperationResult<Account> lookup = accountUtils.findAccountByIban(accountRepository, iban);
+        if (!(lookup instanceof OperationResult.Success<Account>(Account account))) {
+            return lookup.asRejection();
+        }
+        BalanceHold hold = holdRepository.findById(holdId)
+                .filter(found -> found.getAccountId().equals(account.getId()))
+                .orElse(null);
+        if (hold == null) {
+            return OperationResult.rejected(AccountError.HOLD_NOT_FOUND, holdId, iban);
+        }
+
+        if (holdRepository.closeActive(holdId, BalanceHold.Status.RELEASED, Instant.now()) == 0) {
+            return OperationResult.rejected(AccountError.HOLD_NOT_ACTIVE, holdId);
+        }
+        hold.setStatus(BalanceHold.Status.RELEASED);
+
+        cancelExpiryAfterCommit(holdId);
+        return OperationResult.success(hold);
+    }
+
+    /**
+     * Turns the expiry wheel and marks the holds that reached their deadline as expired.
+     */
+    @Scheduled(fixedDelayString = "${account.holds.expiry-tick-ms:1000}")
+    public void expireDueHolds() {
+
+        List<Long> expired = expiryWheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        expired.forEach(pendingExpiries::remove);
+
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Long> ids = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            transactionTemplate.executeWithoutResult(status -> holdRepository.expire(ids));
+        }
+        log.debug("Expired {} holds", expired.size());
+    }
+
+    /**
+     * Reloads every active hold into the expiry wheel after a restart. Holds whose deadline
+     * passed while the service was down expire on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildExpiries() {
+
+        long lastId = 0;
+        int restored = 0;
+        List<BalanceHold> page;
+        do {
+            page = holdRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    BalanceHold.Status.ACTIVE, lastId, PageRequest.of(0, batchSize));
+            for (BalanceHold hold : page) {
+                scheduleExpiry(hold);
+                lastId = hold.getId();
+            }
+            restored += page.size();
+        } while (page.size() == batchSize);
+
+        log.info("Hold expiry wheel rebuilt with {} active holds", restored);
+    }
+
+    private void scheduleExpiry(BalanceHold hold) {
+        pendingExpiries.computeIfAbsent(hold.getId(),
+                id -> expiryWheel.schedule(id, hold.getExpiresAt().toEpochMilli()));
+    }
+
+    // Only cancel once the status change is durable; a rolled back capture or release keeps its expiry
+    private void cancelExpiryAfterCommit(Long holdId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                HierarchicalTimerWheel.Timeout<Long> timeout = pendingExpiries.remove(holdId);
+                if (timeout != null) {
+                    expiryWheel.cancel(timeout);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.error.AccountError;
+import com.banking.account_service.error.CustomException;
+
+import java.util.function.Function;
+
+/**
+ * Outcome of an account operation: either the produced value or the business rejection
+ * that prevented it. Services pass rejections around as plain values and only turn them
+ * into a {@link CustomException} at the public boundary.
+ *
+ * @param <T> the type of the value produced on success
+ */
+public sealed interface OperationResult<T> {
+
+    record Success<T>(T value) implements OperationResult<T> {
+    }
+
+    record Rejected<T>(AccountError error, Object[] args) implements OperationResult<T> {
+    }
+
+    static <T> OperationResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> OperationResult<T> rejected(AccountError error, Object... args) {
+        return new Rejected<>(error, args);
+    }
+
+    /**
+     * Chains another operation onto a successful result; rejections are passed through untouched.
+     */
+    @SuppressWarnings("unchecked")
+    default <R> OperationResult<R> flatMap(Function<? super T, OperationResult<R>> next) {
+        return switch (this) {
+            case Success<T> success -> next.apply(success.value());
+            case Rejected<T> rejected -> (OperationResult<R>) rejected;
+        };
+    }
+
+    /**
+     * Re-types a rejection so it can be returned from an operation producing a different value.
+     *
+     * @throws IllegalStateException if the result is a success
+     */
+    @SuppressWarnings("unchecked")
+    default <R> OperationResult<R> asRejection() {
+        if (this instanceof Success<T>) {
+            throw new IllegalStateException("Not a rejection");
+        }
+        return (OperationResult<R>) this;
+    }
+
+    /**
+     * Returns the value of a successful result.
+     *
+     * @return the produced value
+     * @throws CustomException built from the error template if the operation was rejected
+     */
+    default T orElseThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Rejected<T> rejected -> throw rejected.error().exception(rejected.args());
+        };
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.ReconciliationStatus;
+import com.banking.account_service.entities.ReconciliationDiscrepancy;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.repositories.ReconciliationDiscrepancyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Verifies every stored balance against the sum of its recorded {@link com.banking.account_service.entities.BalanceMovement}s.
+ * The account id range is split recursively on a dedicated {@link ForkJoinPool} until each
+ * task covers one chunk, which is checked with a single read-only statement, so no locks are
+ * held beyond that statement. Workers share a throttle that caps the accounts reconciled per
+ * second and backs off when chunks take markedly longer than usual, which is how contention
+ * with live traffic shows up, leaving headroom for it. Mismatches are stored as
+ * {@link ReconciliationDiscrepancy} rows under the run id.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private final AccountRepository accountRepository;
+    private final BalanceMovementRepository movementRepository;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final int parallelism;
+    private final long chunkSize;
+    private final long maxAccountsPerSecond;
+    private final long minAccountsPerSecond;
+
+    private final AtomicReference<Run> currentRun = new AtomicReference<>();
+
+    public ReconciliationService(AccountRepository accountRepository,
+                                 BalanceMovementRepository movementRepository,
+                                 ReconciliationDiscrepancyRepository discrepancyRepository,
+                                 @Value("${account.reconciliation.parallelism:4}") int parallelism,
+                                 @Value("${account.reconciliation.chunk-size:1000}") long chunkSize,
+                                 @Value("${account.reconciliation.max-accounts-per-second:50000}") long maxAccountsPerSecond,
+                                 @Value("${account.reconciliation.min-accounts-per-second:1000}") long minAccountsPerSecond) {
+        this.accountRepository = accountRepository;
+        this.movementRepository = movementRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.maxAccountsPerSecond = maxAccountsPerSecond;
+        this.minAccountsPerSecond = minAccountsPerSecond;
+    }
+
+    /**
+     * Starts a reconciliation run in the background. Only one run executes at a time; while
+     * one is in progress its status is returned instead of starting another.
+     *
+     * @return the status of the started (or already running) run
+     */
+    public ReconciliationStatus start() {
+
+        // Checked before counting, so a repeated request does not pay for a full count
+        Run previous = currentRun.get();
+        if (previous != null && previous.state == ReconciliationStatus.State.RUNNING) {
+            return previous.toStatus();
+        }
+
+        Run run = new Run(UUID.randomUUID().toString(), accountRepository.count(), new Throttle(maxAccountsPerSecond, minAccountsPerSecond));
+        if (!currentRun.compareAndSet(previous, run)) {
+            // Another request started a run meanwhile
+            return currentRun.get().toStatus();
+        }
+
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CompletableFuture.runAsync(() -> {
+                    if (minId != null) {
+                        new ChunkTask(run, minId, maxId).invoke();
+                    }
+                }, pool)
+                .whenComplete((ignored, failure) -> {
+                    run.finish(failure);
+                    pool.shutdown();
+                    log.info("Reconciliation {} finished: {}", run.runId, run.toStatus());
+                });
+
+        log.info("Reconciliation {} started for {} accounts", run.runId, run.totalAccounts);
+        return run.toStatus();
+    }
+
+    /**
+     * @return the status of the latest run, if any run has been started
+     */
+    public Optional<ReconciliationStatus> getStatus() {
+        return Optional.ofNullable(currentRun.get()).map(Run::toStatus);
+    }
+
+    /**
+     * @param runId the identifier of a reconciliation run
+     * @return the discrepancies reported by that run, ordered by account
+     */
+    public List<ReconciliationDiscrepancy> getDiscrepancies(String runId) {
+        return discrepancyRepository.findByRunIdOrderByAccountIdAsc(runId);
+    }
+
+    private void reconcileChunk(Run run, long fromId, long toId) {
+
+        long accounts = accountRepository.countByIdBetween(fromId, toId);
+        run.throttle.acquire(accounts);
+
+        long start = System.nanoTime();
+        List<Object[]> mismatches = movementRepository.findDiscrepancies(fromId, toId);
+        run.throttle.observe(accounts, System.nanoTime() - start);
+        if (!mismatches.isEmpty()) {
+            Instant detectedAt = Instant.now();
+            discrepancyRepository.saveAll(mismatches.stream()
+                    .map(row -> new ReconciliationDiscrepancy(null, run.runId, ((Number) row[0]).longValue(),
+                            (String) row[1], (BigDecimal) row[2], (BigDecimal) row[3], detectedAt))
+                    .toList());
+        }
+
+        run.processedAccounts.addAndGet(accounts);
+        run.discrepancies.addAndGet(mismatches.size());
+    }
+
+    /**
+     * Splits an inclusive id range in halves until it fits in one chunk.
+     */
+    private final class ChunkTask extends RecursiveAction {
+
+        private final Run run;
+        private final long fromId;
+        private final long toId;
+
+        private ChunkTask(Run run, long fromId, long toId) {
+            this.run = run;
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected void compute() {
+            if (toId - fromId < chunkSize) {
+                reconcileChunk(run, fromId, toId);
+                return;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            invokeAll(new ChunkTask(run, fromId, middle), new ChunkTask(run, middle + 1, toId));
+        }
+    }
+
+    private static final class Run {
+
+        private final String runId;
+        private final long totalAccounts;
+        private final Throttle throttle;
+        private final Instant startedAt = Instant.now();
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong processedAccounts = new AtomicLong();
+        private final AtomicLong discrepancies = new AtomicLong();
+
+        private volatile ReconciliationStatus.State state = ReconciliationStatus.State.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile long finishedNanos;
+        private volatile String error;
+
+        private Run(String runId, long totalAccounts, Throttle throttle) {
+            this.runId = runId;
+            this.totalAccounts = totalAccounts;
+            this.throttle = throttle;
+        }
+
+        private void finish(Throwable failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = Instant.now();
+            if (failure != null) {
+                error = (failure.getCause() != null ? failure.getCause() : failure).getMessage();
+            }
+            state = failure == null ? ReconciliationStatus.State.COMPLETED : ReconciliationStatus.State.FAILED;
+        }
+
+        private ReconciliationStatus toStatus() {
+            long endNanos = state == ReconciliationStatus.State.RUNNING ? System.nanoTime() : finishedNanos;
+            double seconds = Math.max(Duration.ofNanos(endNanos - startedNanos).toMillis(), 1) / 1000.0;
+            long processed = processedAccounts.get();
+            return new ReconciliationStatus(runId, state, startedAt, finishedAt, totalAccounts, processed,
+                    discrepancies.get(), processed / seconds, throttle.currentAccountsPerSecond(), error);
+        }
+    }
+
+    /**
+     * Spaces out chunks so that, across all workers, no more than the current rate of accounts
+     * is reconciled per second. The rate starts at the configured maximum. A chunk whose
+     * statement takes more than {@link #SLOWDOWN_FACTOR} times the usual time per account
+     * halves it, down to the configured minimum; every normal chunk raises it by a tenth,
+     * back up to the maximum.
+     */
+    private static final class Throttle {
+
+        private static final double SLOWDOWN_FACTOR = 2.0;
+        // Weight of a new observation in the usual time per account, which may only rise slowly
+        private static final double BASELINE_DRIFT = 0.01;
+
+        private final double minNanosPerAccount;
+        private final double maxNanosPerAccount;
+        private double nanosPerAccount;
+        private double baselineNanosPerAccount = Double.NaN;
+        private long nextFreeNanos = System.nanoTime();
+
+        private Throttle(long maxAccountsPerSecond, long minAccountsPerSecond) {
+            this.minNanosPerAccount = (double) TimeUnit.SECONDS.toNanos(1) / Math.max(maxAccountsPerSecond, 1);
+            this.maxNanosPerAccount = Math.max(minNanosPerAccount,
+                    (double) TimeUnit.SECONDS.toNanos(1) / Math.max(minAccountsPerSecond, 1));
+            this.nanosPerAccount = minNanosPerAccount;
+        }
+
+        private void acquire(long accounts) {
+            long waitUntil;
+            synchronized (this) {
+                waitUntil = Math.max(nextFreeNanos, System.nanoTime());
+                nextFreeNanos = waitUntil + (long) (accounts * nanosPerAccount);
+            }
+            long waitNanos = waitUntil - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Reconciliation interrupted", e);
+                }
+            }
+        }
+
+        private synchronized void observe(long accounts, long elapsedNanos) {
+            if (accounts == 0) {
+                return;
+            }
+            double perAccount = (double) elapsedNanos / accounts;
+            if (Double.isNaN(baselineNanosPerAccount) || perAccount < baselineNanosPerAccount) {
+                baselineNanosPerAccount = perAccount;
+            } else {
+                baselineNanosPerAccount += (perAccount - baselineNanosPerAccount) * BASELINE_DRIFT;
+            }
+
+            if (perAccount > baselineNanosPerAccount * SLOWDOWN_FACTOR) {
+                nanosPerAccount = Math.min(nanosPerAccount * 2, maxNanosPerAccount);
+            } else {
+                nanosPerAccount = Math.max(nanosPerAccount / 1.1, minNanosPerAccount);
+            }
+        }
+
+        private synchronized long currentAccountsPerSecond() {
+            return Math.round(TimeUnit.SECONDS.toNanos(1) / nanosPerAccount);
+        }
+    }
+
+}
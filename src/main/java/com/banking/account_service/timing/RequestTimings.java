@@ -0,0 +1,133 @@
+package com.banking.account_service.timing;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-request phase timings, measured with {@link System#nanoTime()}. A recorder is bound
+ * to the request thread by {@link ServerTimingFilter} only when the request is timed; when
+ * it is not, {@link #start()} and {@link #stop(String, long)} reduce to a thread-local lookup.
+ *
+ * <pre>{@code
+ * long start = RequestTimings.start();
+ * Optional<Account> account = accountRepository.findByIban(iban);
+ * RequestTimings.stop("findByIban", start);
+ * }</pre>
+ */
+public final class RequestTimings {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final int INITIAL_PHASES = 8;
+
+    private final long startNanos = System.nanoTime();
+    private final boolean emitHeader;
+    private String[] phases = new String[INITIAL_PHASES];
+    private long[] durations = new long[INITIAL_PHASES];
+    private int count;
+    private boolean headerWritten;
+
+    RequestTimings(boolean emitHeader) {
+        this.emitHeader = emitHeader;
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the start timestamp to pass to {@link #stop(String, long)}, or {@code 0} when the request is not timed
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Adds the time elapsed since {@code startNanos} to the given phase. Phases recorded more
+     * than once in a request are summed.
+     *
+     * @param phase      the phase name, a valid {@code Server-Timing} metric name
+     * @param startNanos the value returned by {@link #start()}
+     */
+    public static void stop(String phase, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    void add(String phase, long nanos) {
+        for (int i = 0; i < count; i++) {
+            if (phases[i].equals(phase)) {
+                durations[i] += nanos;
+                return;
+            }
+        }
+        if (count == phases.length) {
+            phases = Arrays.copyOf(phases, count * 2);
+            durations = Arrays.copyOf(durations, count * 2);
+        }
+        phases[count] = phase;
+        durations[count] = nanos;
+        count++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    boolean isEmitHeader() {
+        return emitHeader;
+    }
+
+    boolean isHeaderWritten() {
+        return headerWritten;
+    }
+
+    /**
+     * Renders the phases recorded so far, plus the elapsed request time as {@code total},
+     * and marks the header as written.
+     */
+    String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder(32 * (count + 1));
+        for (int i = 0; i < count; i++) {
+            appendMetric(header, phases[i], durations[i]).append(", ");
+        }
+        appendMetric(header, "total", elapsedNanos());
+        headerWritten = true;
+        return header.toString();
+    }
+
+    Map<String, Double> phaseMillis() {
+        Map<String, Double> millis = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            millis.put(phases[i], durations[i] / 1_000_000.0);
+        }
+        return millis;
+    }
+
+    // Durations in milliseconds with microsecond precision, formatted without String.format
+    private static StringBuilder appendMetric(StringBuilder header, String phase, long nanos) {
+        long micros = nanos / 1_000;
+        long fraction = micros % 1_000;
+        header.append(phase).append(";dur=").append(micros / 1_000).append('.');
+        if (fraction < 100) {
+            header.append(fraction < 10 ? "00" : "0");
+        }
+        return header.append(fraction);
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.banking.account_service.timing;
+
+import com.banking.account_service.dto.RequestTrace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring buffer of sampled slow-request traces. Writers claim a slot with a single
+ * atomic increment and overwrite the oldest trace once the buffer is full.
+ */
+@Component
+public class RequestTraceBuffer {
+
+    private final AtomicReferenceArray<RequestTrace> slots;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RequestTraceBuffer(@Value("${account.timing.trace.capacity:1024}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(RequestTrace trace) {
+        long slot = sequence.getAndIncrement();
+        slots.set((int) (slot % slots.length()), trace);
+    }
+
+    /**
+     * @param limit the maximum number of traces to return
+     * @return the most recent traces, newest first
+     */
+    public List<RequestTrace> latest(int limit) {
+        long end = sequence.get();
+        long start = Math.max(0, end - Math.clamp(limit, 0, slots.length()));
+        List<RequestTrace> traces = new ArrayList<>((int) (end - start));
+        for (long slot = end - 1; slot >= start; slot--) {
+            RequestTrace trace = slots.get((int) (slot % slots.length()));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.banking.account_service.timing;
+
+import com.banking.account_service.dto.RequestTrace;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each request's phases with {@link RequestTimings}. The timings are returned in the
+ * {@code Server-Timing} response header, and sampled requests slower than the threshold are
+ * kept in the {@link RequestTraceBuffer}. Requests that are neither timed for the header nor
+ * sampled pass straight through. The header is off by default because it reveals internal
+ * phase timings to every client; with it off and sampling disabled, nothing is timed.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final RequestTraceBuffer traceBuffer;
+    private final boolean headerEnabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public ServerTimingFilter(RequestTraceBuffer traceBuffer,
+                              @Value("${account.timing.server-timing-header:false}") boolean headerEnabled,
+                              @Value("${account.timing.trace.sample-rate:0}") double sampleRate,
+                              @Value("${account.timing.trace.slow-threshold-ms:250}") long slowThresholdMs) {
+        this.traceBuffer = traceBuffer;
+        this.headerEnabled = headerEnabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!headerEnabled && !sampled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTimings timings = new RequestTimings(headerEnabled);
+        RequestTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.unbind();
+
+            // JSON bodies get the header from the message converter; cover the responses that bypass it
+            if (headerEnabled && !timings.isHeaderWritten() && !response.isCommitted()) {
+                response.setHeader(RequestTimings.SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+            }
+
+            long elapsedNanos = timings.elapsedNanos();
+            if (sampled && elapsedNanos >= slowThresholdNanos) {
+                traceBuffer.record(new RequestTrace(Instant.now(), request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), elapsedNanos / 1_000_000.0, timings.phaseMillis()));
+            }
+        }
+    }
+
+}
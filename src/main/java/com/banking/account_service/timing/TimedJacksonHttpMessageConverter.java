@@ -0,0 +1,63 @@
+package com.banking.account_service.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records JSON serialization as the {@code serialization} phase of
+ * timed requests. When the {@code Server-Timing} header is emitted, the body is serialized
+ * into a buffer first so the header, which must precede the body, can include this phase.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final String SERIALIZATION = "serialization";
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (!timings.isEmitHeader()) {
+            super.writeInternal(object, type, outputMessage);
+            timings.add(SERIALIZATION, System.nanoTime() - start);
+            return;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        timings.add(SERIALIZATION, System.nanoTime() - start);
+
+        outputMessage.getHeaders().set(RequestTimings.SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+        body.writeTo(outputMessage.getBody());
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.banking.account_service.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TimingConfiguration {
+
+    /**
+     * Replaces Spring Boot's default Jackson converter, keeping the auto-configured {@link ObjectMapper}.
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
+}
@@ -1,13 +1,15 @@
 package com.banking.account_service.utils;
 
 import com.banking.account_service.entities.Account;
+import com.banking.account_service.error.AccountError;
 import com.banking.account_service.error.CustomException;
 import com.banking.account_service.repositories.AccountRepository;
-import org.springframework.http.HttpStatus;
+import com.banking.account_service.services.OperationResult;
+import com.banking.account_service.timing.RequestTimings;
 import org.springframework.stereotype.Component;
 
 import javax.money.Monetary;
-import javax.money.UnknownCurrencyException;
+import java.util.Optional;
 
 @Component
 public class AccountUtils {
@@ -21,12 +23,57 @@ public class AccountUtils {
      * @throws CustomException if no account with the given IBAN is found
      */
     public Account findAccountByIbanOrThrow(AccountRepository accountRepository, String iban) {
-        return accountRepository.findByIban(iban)
-                .orElseThrow(() -> new CustomException(
-                        "Account with IBAN '" + iban + "' not found.",              // Message
-                        HttpStatus.NOT_FOUND.value(),                               // HTTP Status Code
-                        Constants.ERROR_IBAN_NOT_FOUND// Error Code
-                ));
+        return findAccountByIban(accountRepository, iban).orElseThrow();
+    }
+
+    /**
+     * Finds an account by its IBAN without throwing when it does not exist.
+     *
+     * @param iban the IBAN of the account to find
+     * @return the {@link Account} on success, or an {@link AccountError#IBAN_NOT_FOUND} rejection
+     */
+    public OperationResult<Account> findAccountByIban(AccountRepository accountRepository, String iban) {
+        long start = RequestTimings.start();
+        Optional<Account> account = accountRepository.findByIban(iban);
+        RequestTimings.stop("findByIban", start);
+
+        return account
+                .map(OperationResult::success)
+                .orElseGet(() -> OperationResult.rejected(AccountError.IBAN_NOT_FOUND, iban));
+    }
+
+    /**
+     * Finds an account by its IBAN with its balances already loaded. Used by reads that run
+     * without a transaction, where the lazy balance collection could no longer be loaded.
+     *
+     * @param iban the IBAN of the account to find
+     * @return the {@link Account} with its balances on success, or an {@link AccountError#IBAN_NOT_FOUND} rejection
+     */
+    public OperationResult<Account> findAccountWithBalancesByIban(AccountRepository accountRepository, String iban) {
+        long start = RequestTimings.start();
+        Optional<Account> account = accountRepository.findWithBalancesByIban(iban);
+        RequestTimings.stop("findByIban", start);
+
+        return account
+                .map(OperationResult::success)
+                .orElseGet(() -> OperationResult.rejected(AccountError.IBAN_NOT_FOUND, iban));
+    }
+
+    /**
+     * Finds an account by its IBAN and locks it for the rest of the transaction. Used by every
+     * operation that checks a balance before changing it.
+     *
+     * @param iban the IBAN of the account to find
+     * @return the locked {@link Account} on success, or an {@link AccountError#IBAN_NOT_FOUND} rejection
+     */
+    public OperationResult<Account> findAccountByIbanForUpdate(AccountRepository accountRepository, String iban) {
+        long start = RequestTimings.start();
+        Optional<Account> account = accountRepository.findByIbanForUpdate(iban);
+        RequestTimings.stop("findByIban", start);
+
+        return account
+                .map(OperationResult::success)
+                .orElseGet(() -> OperationResult.rejected(AccountError.IBAN_NOT_FOUND, iban));
     }
 
     /**
@@ -36,14 +83,24 @@ public class AccountUtils {
      * @throws CustomException if the currency code is not recognized or valid
      */
     public void validateCurrency(String currencyCode) {
-        try {
-            Monetary.getCurrency(currencyCode);
-        } catch (UnknownCurrencyException e) {
-            throw new CustomException(
-                    "Currency '" + currencyCode + "' not found.",
-                    HttpStatus.NOT_FOUND.value(),
-                    Constants.ERROR_CURRENCY_NOT_FOUND
-            );
+        checkCurrency(currencyCode).orElseThrow();
+    }
+
+    /**
+     * Checks the currency code against the ISO 4217 registry. Uses the availability lookup
+     * rather than catching {@code UnknownCurrencyException}, so unknown codes cost no exception.
+     *
+     * @param currencyCode the ISO 4217 currency code to be validated
+     * @return the currency code on success, or an {@link AccountError#CURRENCY_NOT_FOUND} rejection
+     */
+    public OperationResult<String> checkCurrency(String currencyCode) {
+        long start = RequestTimings.start();
+        boolean available = currencyCode != null && Monetary.isCurrencyAvailable(currencyCode);
+        RequestTimings.stop("validateCurrency", start);
+
+        if (!available) {
+            return OperationResult.rejected(AccountError.CURRENCY_NOT_FOUND, currencyCode);
         }
+        return OperationResult.success(currencyCode);
     }
 }
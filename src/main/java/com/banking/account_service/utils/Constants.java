@@ -12,14 +12,36 @@ public class Constants {
     public static final String ERROR_IBAN_NOT_FOUND = "IBAN_NOT_FOUND";
     public static final String ERROR_CURRENCY_NOT_FOUND = "CURRENCY_NOT_FOUND";
     public static final String ERROR_INVALID_CURRENCY = "ERROR_INVALID_CURRENCY";
+    public static final String ERROR_HOLD_NOT_FOUND = "HOLD_NOT_FOUND";
+    public static final String ERROR_HOLD_NOT_ACTIVE = "ERROR_HOLD_NOT_ACTIVE";
+    public static final String ERROR_CAPTURE_EXCEEDS_HOLD = "ERROR_CAPTURE_EXCEEDS_HOLD";
+    public static final String ERROR_POSTING_RUN_CONFLICT = "ERROR_POSTING_RUN_CONFLICT";
 
     // Input Validation Error Messages
     public static final String MESSAGE_AMOUNT_REQUIRED = "The 'amount' parameter is required.";
     public static final String MESSAGE_AMOUNT_MINIMUM = "The 'amount' minimum value is 10.";
     public static final String MESSAGE_CURRENCY_REQUIRED = "The 'currency' parameter is required.";
+    public static final String MESSAGE_TTL_REQUIRED = "The 'ttlSeconds' parameter is required.";
+    public static final String MESSAGE_TTL_MINIMUM = "The 'ttlSeconds' minimum value is 1.";
+    public static final String MESSAGE_TTL_MAXIMUM = "The 'ttlSeconds' maximum value is " + Constants.HOLD_MAX_TTL_SECONDS + ".";
+    public static final String MESSAGE_IBANS_REQUIRED = "The 'ibans' parameter must contain at least one IBAN.";
+    public static final String MESSAGE_IBANS_MAXIMUM = "The 'ibans' parameter accepts at most " + Constants.BATCH_LOOKUP_MAX_IBANS + " IBANs.";
+    public static final String MESSAGE_IBANS_BLANK = "The 'ibans' parameter must not contain blank IBANs.";
+    public static final String MESSAGE_RUN_KEY_REQUIRED = "The 'runKey' parameter is required.";
+    public static final String MESSAGE_POSTING_TYPE_REQUIRED = "The 'type' parameter is required.";
+    public static final String MESSAGE_POSTING_AMOUNT_POSITIVE = "The 'amount' must be greater than 0.";
+    public static final String MESSAGE_CAPTURE_AMOUNT_MINIMUM = "The 'amount' must be greater than 0.";
+
+    // Balance holds: longest time funds can stay reserved (30 days)
+    public static final long HOLD_MAX_TTL_SECONDS = 2_592_000;
+
+    // Batch balance lookup: maximum IBANs per request and per IN-query
+    public static final int BATCH_LOOKUP_MAX_IBANS = 5000;
+    public static final int BATCH_LOOKUP_CHUNK_SIZE = 500;
 
     public static final int CODE_ERROR_NOT_FOUND = 404;
     public static final int CODE_ERROR_BAD_REQUEST = 400;
+    public static final int CODE_ERROR_CONFLICT = 409;
     public static final int CODE_ERROR_UNPROCESSABLE_ENTITY = 422;
 
 }
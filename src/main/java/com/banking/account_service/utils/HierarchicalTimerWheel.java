@@ -0,0 +1,224 @@
+package com.banking.account_service.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level {@code n} has {@code 2^slotBits} slots, each
+ * {@code 2^(slotBits * n)} ticks wide; a timeout is placed on the lowest level whose span
+ * covers its remaining delay and cascades down as the wheel turns. Scheduling and
+ * cancelling are O(1), and advancing one tick only touches the slots that are due,
+ * whatever the number of pending timeouts.
+ *
+ * <p>Instances are thread-safe. {@link #advance(long)} returns the expired payloads
+ * instead of invoking callbacks, so callers handle expiry outside the wheel's lock.</p>
+ *
+ * @param <T> the payload carried by each timeout
+ */
+public class HierarchicalTimerWheel<T> {
+
+    /**
+     * Handle to a scheduled timeout, used to cancel it.
+     */
+    public static final class Timeout<T> {
+
+        private final T payload;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        private Timeout<T> detachAll() {
+            Timeout<T> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final long slotMask;
+    private final Bucket<T>[][] levels;
+
+    // Timeouts whose deadline has already been reached, expired on the next advance
+    private final Bucket<T> due = new Bucket<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis  duration of one tick of the lowest level, in milliseconds
+     * @param slotBits    log2 of the number of slots per level
+     * @param levelCount  number of levels; the wheel spans {@code 2^(slotBits * levelCount)} ticks
+     * @param startMillis the current time, in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimerWheel(long tickMillis, int slotBits, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || slotBits <= 0 || levelCount <= 0 || slotBits * levelCount > 62) {
+            throw new IllegalArgumentException("Invalid timer wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.slotBits = slotBits;
+        this.slotMask = (1L << slotBits) - 1;
+        this.levels = new Bucket[levelCount][1 << slotBits];
+        for (Bucket<T>[] level : levels) {
+            for (int slot = 0; slot < level.length; slot++) {
+                level[slot] = new Bucket<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a timeout. Deadlines that have already passed expire on the next {@link #advance(long)}.
+     *
+     * @param payload        the value returned when the timeout expires
+     * @param deadlineMillis the expiry time, in milliseconds; rounded up to the next tick
+     * @return a handle that can be passed to {@link #cancel(Timeout)}
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.ceilDiv(deadlineMillis, tickMillis));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout.
+     *
+     * @param timeout the handle returned by {@link #schedule(Object, long)}
+     * @return {@code true} if the timeout was pending, {@code false} if it had already expired or been cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Turns the wheel up to the given time and collects every timeout that expired on the way.
+     *
+     * @param nowMillis the current time, in milliseconds
+     * @return the payloads of the expired timeouts, in expiry order
+     */
+    public synchronized List<T> advance(long nowMillis) {
+
+        List<T> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+
+        expire(due, expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Higher levels first, so their timeouts can still land in the lower slots due at this tick
+            for (int level = levels.length - 1; level > 0; level--) {
+                int shift = slotBits * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(levels[level][(int) ((currentTick >>> shift) & slotMask)]);
+                }
+            }
+
+            expire(levels[0][(int) (currentTick & slotMask)], expired);
+            expire(due, expired);
+        }
+        return expired;
+    }
+
+    /**
+     * @return the number of pending timeouts
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delay = timeout.deadlineTick - currentTick;
+        if (delay <= 0) {
+            due.add(timeout);
+            return;
+        }
+
+        // Timeouts beyond the top level's span wait there and are re-placed when their slot comes round
+        int level = 0;
+        while (level < levels.length - 1 && delay >= (1L << (slotBits * (level + 1)))) {
+            level++;
+        }
+        levels[level][(int) ((timeout.deadlineTick >>> (slotBits * level)) & slotMask)].add(timeout);
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void expire(Bucket<T> bucket, List<T> expired) {
+        Timeout<T> timeout = bucket.detachAll();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            if (timeout.deadlineTick > currentTick) {
+                place(timeout);
+            } else {
+                timeout.bucket = null;
+                expired.add(timeout.payload);
+                size--;
+            }
+            timeout = next;
+        }
+    }
+
+}
@@ -9,4 +9,9 @@ INSERT INTO ACCOUNT_BALANCES (ACCOUNT_ID, CURRENCY, BALANCE)
 VALUES (1, 'USD', 1000.00),
        (1, 'EUR', 500.00),
        (2, 'GBP', 100.00),
-       (2, 'IDR', 10000000.00);
\ No newline at end of file
+       (2, 'IDR', 10000000.00);
+
+-- Record the seeded balances as opening movements so they reconcile
+INSERT INTO BALANCE_MOVEMENT (ACCOUNT_ID, CURRENCY, AMOUNT, TYPE, CREATED_AT)
+SELECT ACCOUNT_ID, CURRENCY, BALANCE, 'OPENING', CURRENT_TIMESTAMP
+FROM ACCOUNT_BALANCES;
@@ -78,6 +78,7 @@ class AccountUtilsTest {
         assertEquals("Account with IBAN '" + iban + "' not found.", exception.getMessage());
         assertEquals(HttpStatus.NOT_FOUND.value(), exception.getStatus());
         assertEquals(Constants.ERROR_IBAN_NOT_FOUND, exception.getErrorCode());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
 }
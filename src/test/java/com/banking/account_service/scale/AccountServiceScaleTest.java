@@ -0,0 +1,147 @@
+package com.banking.account_service.scale;
+
+import com.banking.account_service.services.AccountService;
+import com.banking.account_service.services.BalanceProjectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a skewed read/write mix against datasets of growing size and checks that latency
+ * stays close to flat as the number of accounts grows. Run with {@code mvn test -Pscale};
+ * sizes can be overridden with {@code -Dscale.sizes=10000,100000}.
+ *
+ * <p>The dataset is grown in place: each size only inserts the accounts it adds to the
+ * previous one, and the new accounts are projected into the balance read model before the
+ * workload starts, so balance reads take the same path as for accounts created through the
+ * API. At every size the same Zipf-distributed workload (70% balance reads, 20%
+ * deposits, 10% debits) is measured after a warm-up, and the median latency is compared
+ * with the one at the smallest size. With indexed lookups latency grows roughly with the
+ * logarithm of the size, well below the allowed exponent; a full scan per request grows
+ * linearly and fails the check long before it becomes superlinear.</p>
+ */
+@Slf4j
+@Tag("scale")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        // Larger and more frequent projection batches, so a freshly loaded dataset is projected quickly
+        "account.projection.batch-size=10000",
+        "account.projection.poll-interval-ms=20"
+})
+class AccountServiceScaleTest {
+
+    private static final long SEED = 20_240_601L;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int WARMUP_OPERATIONS = 20_000;
+    private static final int MEASURED_OPERATIONS = 50_000;
+    private static final BigDecimal DEPOSIT = new BigDecimal("10.00");
+    private static final BigDecimal DEBIT = new BigDecimal("5.00");
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private BalanceProjectionService balanceProjection;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${scale.sizes:10000,1000000,10000000}")
+    private long[] sizes;
+
+    @Value("${scale.max-growth-exponent:0.5}")
+    private double maxGrowthExponent;
+
+    private final SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(SEED);
+
+    @Test
+    void testLatencyStaysFlatAsAccountsGrow() throws InterruptedException {
+
+        long[] ordered = Arrays.stream(sizes).sorted().toArray();
+        List<long[]> percentiles = new ArrayList<>();
+        long loaded = 0;
+
+        for (long size : ordered) {
+            long loadStart = System.nanoTime();
+            generator.load(jdbcTemplate, loaded, size, true);
+            log.info("Loaded {} accounts in {} ms", size - loaded, (System.nanoTime() - loadStart) / 1_000_000);
+            loaded = size;
+
+            // Rows inserted behind the service's back are only projected by a rebuild
+            long projectionStart = System.nanoTime();
+            balanceProjection.rebuild();
+            awaitProjection(Instant.now());
+            log.info("Projected {} accounts in {} ms", size, (System.nanoTime() - projectionStart) / 1_000_000);
+
+            ZipfSampler sampler = new ZipfSampler(size, ZIPF_EXPONENT, SEED + size);
+            runWorkload(sampler, size, WARMUP_OPERATIONS);
+            long[] latencies = runWorkload(sampler, size, MEASURED_OPERATIONS);
+            Arrays.sort(latencies);
+
+            long p50 = percentile(latencies, 0.50);
+            long p99 = percentile(latencies, 0.99);
+            percentiles.add(new long[]{size, p50, p99});
+            log.info("Size {}: p50 {} us, p99 {} us", size, p50 / 1_000, p99 / 1_000);
+        }
+
+        long[] baseline = percentiles.getFirst();
+        for (long[] measured : percentiles.subList(1, percentiles.size())) {
+            double exponent = Math.log((double) measured[1] / baseline[1]) / Math.log((double) measured[0] / baseline[0]);
+            log.info("Size {} vs {}: p50 growth exponent {}", measured[0], baseline[0], String.format("%.3f", exponent));
+            assertTrue(exponent <= maxGrowthExponent, String.format(
+                    "p50 grew from %d us at %d accounts to %d us at %d accounts (exponent %.3f, allowed %.3f)",
+                    baseline[1] / 1_000, baseline[0], measured[1] / 1_000, measured[0], exponent, maxGrowthExponent));
+        }
+    }
+
+    private long[] runWorkload(ZipfSampler sampler, long size, int operations) {
+
+        long[] latencies = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            long index = SyntheticDatasetGenerator.indexOfRank(sampler.sample(), size);
+            String iban = generator.iban(index);
+            String currency = generator.primaryCurrency(index);
+            int operation = i % 10;
+
+            long start = System.nanoTime();
+            if (operation < 7) {
+                accountService.getBalance(iban);
+            } else if (operation < 9) {
+                accountService.deposit(iban, currency, DEPOSIT);
+            } else {
+                accountService.tryDebit(iban, currency, DEBIT);
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    // The watermark passes a point in time once every change enqueued before it is projected
+    private void awaitProjection(Instant enqueuedBy) throws InterruptedException {
+        Instant projectedUpTo = balanceProjection.getProjectedUpTo();
+        while (projectedUpTo == null || projectedUpTo.isBefore(enqueuedBy)) {
+            Thread.sleep(100);
+            projectedUpTo = balanceProjection.getProjectedUpTo();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * (sorted.length - 1)))];
+    }
+
+}
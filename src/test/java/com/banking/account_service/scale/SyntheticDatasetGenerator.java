@@ -0,0 +1,168 @@
+package com.banking.account_service.scale;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic accounts. Everything about account {@code i}
+ * (IBAN, currencies, balances) is derived from the seed and {@code i} alone, so datasets
+ * can be grown incrementally and any account can be addressed again without storing it.
+ *
+ * <p>IBANs use the real country formats and carry valid ISO 13616 check digits; the
+ * account index is embedded in the account number, which keeps them unique. Activity is
+ * skewed with a {@link ZipfSampler}: rank 1 is the busiest account, and ranks are spread
+ * over the id space by a fixed permutation so hot accounts are not clustered.</p>
+ */
+final class SyntheticDatasetGenerator {
+
+    // Generated ids start above the rows seeded by data.sql
+    static final long ID_OFFSET = 1_000;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private record Country(String code, int weight, String currency, String[] bankCodes, int randomDigits) {
+    }
+
+    // Bank codes are fixed per country; random digits fill the branch part and the index the account number
+    private static final Country[] COUNTRIES = {
+            new Country("ES", 30, "EUR", new String[]{"2100", "0049", "0182"}, 6),
+            new Country("DE", 25, "EUR", new String[]{"37040044", "50010517"}, 0),
+            new Country("FR", 15, "EUR", new String[]{"30006", "10278"}, 8),
+            new Country("NL", 10, "EUR", new String[]{"ABNA", "INGB", "RABO"}, 0),
+            new Country("GB", 10, "GBP", new String[]{"NWBK", "BARC", "HBUK"}, 4),
+            new Country("EE", 10, "EUR", new String[]{"22", "10"}, 4)
+    };
+    private static final int TOTAL_WEIGHT = 100;
+    private static final int ACCOUNT_NUMBER_DIGITS = 10;
+
+    private static final String[] SECONDARY_CURRENCIES = {"USD", "EUR", "GBP", "CHF", "JPY", "SEK"};
+
+    private final long seed;
+
+    SyntheticDatasetGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Inserts accounts {@code fromIndex} (inclusive) to {@code toIndex} (exclusive) with their
+     * balances and, optionally, the matching opening movements, then moves the account
+     * identity past the generated ids.
+     */
+    void load(JdbcTemplate jdbcTemplate, long fromIndex, long toIndex, boolean openingMovements) {
+
+        List<Object[]> accounts = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> balances = new ArrayList<>(BATCH_SIZE * 2);
+
+        for (long index = fromIndex; index < toIndex; index++) {
+            long id = ID_OFFSET + index;
+            accounts.add(new Object[]{id, iban(index)});
+            balances(index).forEach((currency, balance) -> balances.add(new Object[]{id, currency, balance}));
+
+            if (accounts.size() == BATCH_SIZE || index == toIndex - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO account (id, iban) VALUES (?, ?)", accounts);
+                jdbcTemplate.batchUpdate("INSERT INTO account_balances (account_id, currency, balance) VALUES (?, ?, ?)", balances);
+                if (openingMovements) {
+                    jdbcTemplate.batchUpdate("INSERT INTO balance_movement (account_id, currency, amount, type, created_at) "
+                            + "VALUES (?, ?, ?, 'OPENING', CURRENT_TIMESTAMP)", balances);
+                }
+                accounts.clear();
+                balances.clear();
+            }
+        }
+
+        jdbcTemplate.execute("ALTER TABLE account ALTER COLUMN id RESTART WITH " + (ID_OFFSET + toIndex));
+    }
+
+    /**
+     * @return the IBAN of account {@code index}
+     */
+    String iban(long index) {
+        SplittableRandom random = random(index);
+        Country country = country(random);
+
+        StringBuilder bban = new StringBuilder(country.bankCodes()[random.nextInt(country.bankCodes().length)]);
+        for (int i = 0; i < country.randomDigits(); i++) {
+            bban.append(random.nextInt(10));
+        }
+        String accountNumber = Long.toString(index);
+        bban.append("0".repeat(ACCOUNT_NUMBER_DIGITS - accountNumber.length())).append(accountNumber);
+
+        return country.code() + checkDigits(country.code(), bban) + bban;
+    }
+
+    /**
+     * @return the currency every balance of account {@code index} includes
+     */
+    String primaryCurrency(long index) {
+        return country(random(index)).currency();
+    }
+
+    /**
+     * @return the balances of account {@code index}: the country's currency plus up to three
+     * others, with amounts spread over several orders of magnitude
+     */
+    Map<String, BigDecimal> balances(long index) {
+        SplittableRandom random = random(index ^ 0x5DEECE66DL);
+        Map<String, BigDecimal> balances = new LinkedHashMap<>();
+        balances.put(primaryCurrency(index), amount(random));
+
+        int extra = random.nextInt(100) < 60 ? 0 : 1 + random.nextInt(3);
+        for (int i = 0; i < extra; i++) {
+            balances.putIfAbsent(SECONDARY_CURRENCIES[random.nextInt(SECONDARY_CURRENCIES.length)], amount(random));
+        }
+        return balances;
+    }
+
+    /**
+     * Maps a Zipf rank to an account index with a multiplicative permutation of {@code 0..size-1}.
+     */
+    static long indexOfRank(long rank, long size) {
+        long multiplier = 2_654_435_761L;
+        while (BigInteger.valueOf(multiplier).gcd(BigInteger.valueOf(size)).intValue() != 1) {
+            multiplier += 2;
+        }
+        // Reduced first, so the product cannot overflow for any realistic size
+        return ((rank - 1) % size) * (multiplier % size) % size;
+    }
+
+    private SplittableRandom random(long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private static Country country(SplittableRandom random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (Country country : COUNTRIES) {
+            pick -= country.weight();
+            if (pick < 0) {
+                return country;
+            }
+        }
+        return COUNTRIES[0];
+    }
+
+    // Log-uniform between 10 and 1,000,000
+    private static BigDecimal amount(SplittableRandom random) {
+        return BigDecimal.valueOf(Math.pow(10, 1 + random.nextDouble() * 5)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ISO 13616: country code and "00" moved behind the BBAN, letters as 10..35, 98 - (value mod 97)
+    private static String checkDigits(String countryCode, CharSequence bban) {
+        String rearranged = bban + countryCode + "00";
+        int remainder = 0;
+        for (int i = 0; i < rearranged.length(); i++) {
+            int value = Character.getNumericValue(rearranged.charAt(i));
+            remainder = (value > 9 ? remainder * 100 + value : remainder * 10 + value) % 97;
+        }
+        int check = 98 - remainder;
+        return check < 10 ? "0" + check : Integer.toString(check);
+    }
+
+}
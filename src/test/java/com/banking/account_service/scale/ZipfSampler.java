@@ -0,0 +1,69 @@
+package com.banking.account_service.scale;
+
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks {@code 1..n} from a Zipf distribution using rejection-inversion
+ * (Hormann and Derflinger), which needs constant memory whatever {@code n}, so the
+ * skewed activity of ten million accounts can be drawn without a cumulative table.
+ */
+final class ZipfSampler {
+
+    private final long n;
+    private final double exponent;
+    private final SplittableRandom random;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    ZipfSampler(long n, double exponent, long seed) {
+        if (n < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf sampler needs n >= 1 and a positive exponent");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.random = new SplittableRandom(seed);
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * @return a rank between 1 and {@code n}; rank 1 is the most frequent
+     */
+    long sample() {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            long k = Math.clamp((long) (x + 0.5), 1L, n);
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(x * (1 - exponent), -1);
+        return Math.exp(helper1(t) * x);
+    }
+
+    // log1p(x) / x, accurate near 0
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    // expm1(x) / x, accurate near 0
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.AccountBalanceResponse;
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.error.CustomException;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.utils.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Calls the service directly, outside any web request, so no session is kept open for the
+ * lazy balance collection.
+ */
+@SpringBootTest
+class AccountServiceBalanceLookupTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void testGetBalance_unprojectedAccount_readsBalancesFromWriteModel() {
+
+        // Saved through the repository, so no outbox event projects it
+        Account account = new Account();
+        account.setIban("LOOK" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+        account.getBalances().put("EUR", new BigDecimal("120.50"));
+        account.getBalances().put("USD", new BigDecimal("7.25"));
+        accountRepository.save(account);
+
+        Instant before = Instant.now();
+        AccountBalanceResponse balance = accountService.getBalance(account.getIban());
+
+        assertEquals(account.getIban(), balance.getIban());
+        assertEquals(2, balance.getBalances().size());
+        assertEquals(0, new BigDecimal("120.50").compareTo(balance.getBalances().get("EUR")));
+        assertEquals(0, new BigDecimal("7.25").compareTo(balance.getBalances().get("USD")));
+        assertFalse(balance.getAsOf().isBefore(before));
+    }
+
+    @Test
+    void testGetBalance_accountWithoutBalances_returnsEmptyBalances() {
+
+        Account account = new Account();
+        account.setIban("LOOK" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+        accountRepository.save(account);
+
+        assertEquals(0, accountService.getBalance(account.getIban()).getBalances().size());
+    }
+
+    @Test
+    void testGetBalance_unknownIban_throwsNotFound() {
+
+        CustomException exception = assertThrows(CustomException.class,
+                () -> accountService.getBalance("LOOK00000000000000000000"));
+
+        assertEquals(Constants.ERROR_IBAN_NOT_FOUND, exception.getErrorCode());
+    }
+
+}
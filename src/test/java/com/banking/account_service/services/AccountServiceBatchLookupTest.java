@@ -0,0 +1,121 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.BatchBalanceRequest;
+import com.banking.account_service.dto.BatchBalanceResponse;
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.utils.AccountUtils;
+import com.banking.account_service.utils.Constants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountServiceBatchLookupTest {
+
+    private AccountRepository accountRepository;
+    private AccountService accountService;
+    private final List<Collection<String>> queriedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        // Resolves every IBAN except those starting with "XX", as the IN query would
+        when(accountRepository.findAllWithBalancesByIbanIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> ibans = invocation.getArgument(0);
+            queriedChunks.add(List.copyOf(ibans));
+            return ibans.stream().filter(iban -> !iban.startsWith("XX")).map(AccountServiceBatchLookupTest::account).toList();
+        });
+        accountService = new AccountService(accountRepository, new AccountUtils(), mock(BalanceProjectionService.class),
+                mock(BalanceHoldRepository.class), mock(BalanceMovementRepository.class));
+    }
+
+    @Test
+    void testGetBalances_chunksAcrossChunkSize() {
+
+        int count = Constants.BATCH_LOOKUP_CHUNK_SIZE * 2 + 1;
+        List<String> ibans = IntStream.range(0, count).mapToObj(i -> "ES" + i).toList();
+
+        BatchBalanceResponse response = accountService.getBalances(ibans);
+
+        verify(accountRepository, times(3)).findAllWithBalancesByIbanIn(anyCollection());
+        assertEquals(List.of(Constants.BATCH_LOOKUP_CHUNK_SIZE, Constants.BATCH_LOOKUP_CHUNK_SIZE, 1),
+                queriedChunks.stream().map(Collection::size).toList());
+        assertEquals(count, response.getBalances().size());
+        assertTrue(response.getNotFound().isEmpty());
+    }
+
+    @Test
+    void testGetBalances_duplicatesQueriedAndReportedOnce() {
+
+        BatchBalanceResponse response = accountService.getBalances(List.of("ES1", "DE2", "ES1", "XX3", "XX3"));
+
+        assertEquals(List.of(List.of("ES1", "DE2", "XX3")), queriedChunks);
+        assertEquals(List.of("ES1", "DE2"), List.copyOf(response.getBalances().keySet()));
+        assertEquals(List.of("XX3"), response.getNotFound());
+    }
+
+    @Test
+    void testGetBalances_keepsRequestOrder() {
+
+        // Resolved in reverse order by the repository, returned in request order
+        doAnswer(invocation -> {
+            List<String> ibans = new ArrayList<>(invocation.<Collection<String>>getArgument(0));
+            return ibans.reversed().stream().map(AccountServiceBatchLookupTest::account).toList();
+        }).when(accountRepository).findAllWithBalancesByIbanIn(anyCollection());
+
+        BatchBalanceResponse response = accountService.getBalances(List.of("NL3", "ES1", "DE2"));
+
+        assertEquals(List.of("NL3", "ES1", "DE2"), List.copyOf(response.getBalances().keySet()));
+    }
+
+    @Test
+    void testGetBalances_unknownIbansInNotFound() {
+
+        BatchBalanceResponse response = accountService.getBalances(List.of("XX1", "ES2", "XX3"));
+
+        assertEquals(List.of("ES2"), List.copyOf(response.getBalances().keySet()));
+        assertEquals(List.of("XX1", "XX3"), response.getNotFound());
+        assertEquals(0, BigDecimal.TEN.compareTo(response.getBalances().get("ES2").getBalances().get("EUR")));
+    }
+
+    @Test
+    void testBatchBalanceRequest_blankIbansRejected() {
+
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        Set<ConstraintViolation<BatchBalanceRequest>> violations =
+                validator.validate(new BatchBalanceRequest(Arrays.asList("ES1", null, " ")));
+
+        assertEquals(2, violations.size());
+        violations.forEach(violation -> assertEquals(Constants.MESSAGE_IBANS_BLANK, violation.getMessage()));
+    }
+
+    private static Account account(String iban) {
+        Account account = new Account();
+        account.setIban(iban);
+        account.getBalances().put("EUR", BigDecimal.TEN);
+        return account;
+    }
+
+}
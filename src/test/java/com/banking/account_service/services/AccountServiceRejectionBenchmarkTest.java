@@ -0,0 +1,123 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.error.CustomErrorResponse;
+import com.banking.account_service.error.CustomException;
+import com.banking.account_service.error.GlobalExceptionHandler;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.utils.AccountUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the cost of a rejected debit, including the translation into an error response,
+ * with the cost of a successful one. Run with {@code mvn test -Pbenchmark}.
+ *
+ * <p>Both paths run against Mockito stubs, so the successful debit costs mostly mock dispatch
+ * rather than database work. The ratio therefore only shows that building a rejection adds
+ * little CPU work inside the service; it says nothing about the cost of either path against
+ * a real database, where the lookups and the write dominate.</p>
+ */
+@Slf4j
+@Tag("benchmark")
+class AccountServiceRejectionBenchmarkTest {
+
+    private static final String IBAN = "EE3822002210201578458065";
+    private static final String UNKNOWN_IBAN = "ES0000000000000000000000";
+    private static final int ROUNDS = 9;
+    private static final int ITERATIONS = 50_000;
+    private static final double MAX_RATIO = 1.5;
+
+    @Test
+    void testRejectedDebitCostsAboutTheSameAsSuccessfulDebit() {
+
+        Account account = new Account();
+        account.setIban(IBAN);
+        account.getBalances().put("EUR", new BigDecimal("1000000000000.00"));
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findByIbanForUpdate(IBAN)).thenReturn(Optional.of(account));
+        when(accountRepository.findByIbanForUpdate(UNKNOWN_IBAN)).thenReturn(Optional.empty());
+        when(accountRepository.saveAndFlush(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BalanceHoldRepository holdRepository = mock(BalanceHoldRepository.class);
+        when(holdRepository.sumActiveAmount(any(), any(), any())).thenReturn(BigDecimal.ZERO);
+
+        AccountService accountService = new AccountService(accountRepository, new AccountUtils(),
+                mock(BalanceProjectionService.class), holdRepository, mock(BalanceMovementRepository.class));
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("POST", "/accounts/" + IBAN + "/debit"));
+
+        BigDecimal amount = BigDecimal.ONE;
+        BigDecimal tooMuch = new BigDecimal("10000000000000.00");
+
+        long[] successNanos = new long[ROUNDS];
+        long[] insufficientNanos = new long[ROUNDS];
+        long[] unknownIbanNanos = new long[ROUNDS];
+
+        // The first round doubles as warm-up; the median discards it along with outliers
+        for (int round = 0; round < ROUNDS; round++) {
+            successNanos[round] = time(() -> ResponseEntity.ok(accountService.debit(IBAN, "EUR", amount)));
+            insufficientNanos[round] = time(() -> reject(accountService, handler, webRequest, IBAN, tooMuch));
+            unknownIbanNanos[round] = time(() -> reject(accountService, handler, webRequest, UNKNOWN_IBAN, amount));
+        }
+
+        ResponseEntity<CustomErrorResponse> response = reject(accountService, handler, webRequest, IBAN, tooMuch);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+
+        long success = median(successNanos);
+        assertRatio("insufficient funds", median(insufficientNanos), success);
+        assertRatio("unknown IBAN", median(unknownIbanNanos), success);
+    }
+
+    private static ResponseEntity<CustomErrorResponse> reject(AccountService accountService, GlobalExceptionHandler handler,
+                                                             WebRequest webRequest, String iban, BigDecimal amount) {
+        try {
+            accountService.debit(iban, "EUR", amount);
+            throw new AssertionError("Debit of " + amount + " on '" + iban + "' was expected to be rejected");
+        } catch (CustomException ex) {
+            return handler.handleCustomException(ex, webRequest);
+        }
+    }
+
+    private static long time(Runnable operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void assertRatio(String path, long rejectedNanos, long successNanos) {
+        double ratio = (double) rejectedNanos / successNanos;
+        log.info("{}: {} ns/op rejected vs {} ns/op successful (ratio {})", path,
+                String.format("%.1f", (double) rejectedNanos / ITERATIONS),
+                String.format("%.1f", (double) successNanos / ITERATIONS), String.format("%.2f", ratio));
+        assertTrue(ratio <= MAX_RATIO, "Rejected path (" + path + ") costs " + ratio + "x a successful debit");
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.AccountBalanceResponse;
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.AccountBalanceView;
+import com.banking.account_service.entities.AccountOutboxEvent;
+import com.banking.account_service.repositories.AccountBalanceViewRepository;
+import com.banking.account_service.repositories.AccountOutboxEventRepository;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.utils.AccountUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BalanceProjectionServiceTest {
+
+    private static final String IBAN = "EE3822002210201578458065";
+    private static final int BATCH_SIZE = 4;
+
+    private AccountRepository accountRepository;
+    private AccountOutboxEventRepository outboxRepository;
+    private AccountBalanceViewRepository viewRepository;
+    private BalanceProjectionService projectionService;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        outboxRepository = mock(AccountOutboxEventRepository.class);
+        viewRepository = mock(AccountBalanceViewRepository.class);
+        projectionService = new BalanceProjectionService(accountRepository, outboxRepository, viewRepository,
+                new ObjectMapper(), new TransactionTemplate(mock(PlatformTransactionManager.class)), BATCH_SIZE, 2, 2_000);
+    }
+
+    @Test
+    void testFindBalance_beforeFirstPoll_fallsBack() {
+
+        assertTrue(projectionService.findBalance(IBAN).isEmpty());
+        verify(viewRepository, never()).findById(any());
+    }
+
+    @Test
+    void testFindBalance_asOfIsWatermark() {
+
+        when(outboxRepository.findBatch(any(Pageable.class))).thenReturn(List.of());
+        when(viewRepository.findById(IBAN)).thenReturn(Optional.of(
+                new AccountBalanceView(IBAN, 1L, "{\"EUR\":500.00}", Instant.now())));
+
+        projectionService.pollOutbox();
+        Optional<AccountBalanceResponse> balance = projectionService.findBalance(IBAN);
+
+        assertTrue(balance.isPresent());
+        assertNotNull(projectionService.getProjectedUpTo());
+        assertEquals(projectionService.getProjectedUpTo(), balance.get().getAsOf());
+        assertEquals(0, new BigDecimal("500.00").compareTo(balance.get().getBalances().get("EUR")));
+    }
+
+    @Test
+    void testPollOutbox_collapsesEventsPerAccount() {
+
+        Instant now = Instant.now();
+        List<AccountOutboxEvent> batch = List.of(event(1L, 1L, now), event(2L, 1L, now), event(3L, 2L, now));
+        when(outboxRepository.findBatch(any(Pageable.class))).thenReturn(batch);
+        when(accountRepository.findAllWithBalancesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(account(1L, IBAN), account(2L, "ES6112343456420456323532")));
+
+        projectionService.pollOutbox();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AccountBalanceView>> views = ArgumentCaptor.forClass(List.class);
+        verify(viewRepository).saveAll(views.capture());
+        assertEquals(2, views.getValue().size());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        verify(outboxRepository, never()).findFirstByOrderByIdAsc();
+    }
+
+    @Test
+    void testPollOutbox_fullBatch_watermarkIsOldestPendingEvent() {
+
+        Instant now = Instant.now();
+        Instant oldestPending = now.minus(Duration.ofMinutes(5));
+        List<AccountOutboxEvent> batch = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            batch.add(event(id, id, now));
+        }
+        when(outboxRepository.findBatch(any(Pageable.class))).thenReturn(batch);
+        when(accountRepository.findAllWithBalancesByIdIn(any())).thenReturn(List.of());
+        when(outboxRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(event(5L, 5L, oldestPending)));
+
+        projectionService.pollOutbox();
+
+        assertEquals(oldestPending, projectionService.getProjectedUpTo());
+        // Five minutes behind is beyond the staleness bound, so reads go to the write model
+        assertTrue(projectionService.findBalance(IBAN).isEmpty());
+        verify(viewRepository, never()).findById(any());
+    }
+
+    @Test
+    void testGetBalance_projectionLagging_readsWriteModel() {
+
+        Account account = account(1L, IBAN);
+        account.getBalances().put("EUR", new BigDecimal("750.00"));
+        Instant now = Instant.now();
+        when(outboxRepository.findBatch(any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 1L, now), event(2L, 2L, now), event(3L, 3L, now), event(4L, 4L, now)));
+        when(accountRepository.findAllWithBalancesByIdIn(any())).thenReturn(List.of());
+        when(outboxRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(event(5L, 5L, now.minusSeconds(60))));
+        when(accountRepository.findWithBalancesByIban(IBAN)).thenReturn(Optional.of(account));
+        projectionService.pollOutbox();
+
+        AccountService accountService = new AccountService(accountRepository, new AccountUtils(), projectionService,
+                mock(BalanceHoldRepository.class), mock(BalanceMovementRepository.class));
+        Instant before = Instant.now();
+        AccountBalanceResponse balance = accountService.getBalance(IBAN);
+
+        assertEquals(0, new BigDecimal("750.00").compareTo(balance.getBalances().get("EUR")));
+        assertFalse(balance.getAsOf().isBefore(before));
+        verify(viewRepository, never()).findById(any());
+    }
+
+    @Test
+    void testRebuild_enqueuesUnprojectedAccountsPageByPage() {
+
+        when(accountRepository.findIdAfter(0L, 1)).thenReturn(2L);
+        when(accountRepository.findIdAfter(2L, 1)).thenReturn(4L);
+        when(accountRepository.findIdAfter(4L, 1)).thenReturn(null);
+        when(accountRepository.findMaxIdAfter(4L)).thenReturn(5L);
+        when(outboxRepository.enqueueUnprojectedAccounts(anyLong(), anyLong())).thenReturn(1);
+
+        projectionService.rebuild();
+
+        verify(outboxRepository).enqueueUnprojectedAccounts(1L, 2L);
+        verify(outboxRepository).enqueueUnprojectedAccounts(3L, 4L);
+        verify(outboxRepository).enqueueUnprojectedAccounts(5L, 5L);
+    }
+
+    private static AccountOutboxEvent event(long id, long accountId, Instant createdAt) {
+        AccountOutboxEvent event = new AccountOutboxEvent(accountId, createdAt);
+        event.setId(id);
+        return event;
+    }
+
+    private static Account account(long id, String iban) {
+        Account account = new Account();
+        account.setId(id);
+        account.setIban(iban);
+        account.setBalances(new HashMap<>(Map.of("EUR", BigDecimal.ONE)));
+        return account;
+    }
+
+}
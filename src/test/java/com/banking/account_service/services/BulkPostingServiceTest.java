@@ -0,0 +1,294 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceHold;
+import com.banking.account_service.entities.BalanceMovement;
+import com.banking.account_service.entities.PostingChunk;
+import com.banking.account_service.entities.PostingRun;
+import com.banking.account_service.error.AccountError;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import com.banking.account_service.repositories.PostingChunkRepository;
+import com.banking.account_service.repositories.PostingRunRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each test posts to a currency no other test uses, so runs only touch the accounts it creates.
+ */
+@SpringBootTest
+class BulkPostingServiceTest {
+
+    private static final BigDecimal OPENING = new BigDecimal("1000.00");
+
+    @Autowired
+    private BulkPostingService postingService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceMovementRepository movementRepository;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private PostingRunRepository runRepository;
+
+    @Autowired
+    private PostingChunkRepository chunkRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testPosting_concurrentDeposits_bothAmountsLand() throws Exception {
+
+        String currency = "CHF";
+        List<Account> accounts = createAccounts(currency, 2_000);
+        BigDecimal deposit = new BigDecimal("1.00");
+
+        AtomicBoolean posting = new AtomicBoolean(true);
+        ExecutorService depositors = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> deposits = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                deposits.add(depositors.submit(() -> {
+                    int count = 0;
+                    while (posting.get()) {
+                        Account account = accounts.get(ThreadLocalRandom.current().nextInt(accounts.size()));
+                        accountService.deposit(account.getIban(), currency, deposit);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+
+            String runKey = "interest-" + UUID.randomUUID();
+            postingService.start(runKey, PostingRun.Type.INTEREST, currency, new BigDecimal("0.01"));
+            assertEquals(PostingRun.Status.COMPLETED, awaitRun(runKey).getStatus());
+        } finally {
+            posting.set(false);
+            depositors.shutdown();
+        }
+
+        int depositCount = 0;
+        for (Future<Integer> count : deposits) {
+            depositCount += count.get();
+        }
+        assertTrue(depositCount > 0);
+
+        long fromId = accounts.getFirst().getId();
+        long toId = accounts.getLast().getId();
+        assertEquals(Map.of(), movementCounts(fromId, toId, currency, BalanceMovement.Type.INTEREST, 1),
+                "Accounts without exactly one interest movement");
+        assertEquals(depositCount, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balance_movement "
+                + "WHERE account_id BETWEEN ? AND ? AND currency = ? AND type = 'DEPOSIT'", Integer.class, fromId, toId, currency));
+        // Every balance equals its opening amount plus its deposits and its interest
+        assertEquals(List.of(), discrepancies(fromId, toId, currency));
+    }
+
+    @Test
+    void testFee_skipsBalancesWhoseFundsAreHeld() throws InterruptedException {
+
+        String currency = "NOK";
+        List<Account> accounts = createAccounts(currency, 2);
+        Account held = accounts.getFirst();
+        Account free = accounts.getLast();
+        BalanceHold hold = holdService.hold(held.getIban(), currency, new BigDecimal("995.00"), 600);
+
+        String runKey = "fee-" + UUID.randomUUID();
+        postingService.start(runKey, PostingRun.Type.FEE, currency, new BigDecimal("10.00"));
+        assertEquals(PostingRun.Status.COMPLETED, awaitRun(runKey).getStatus());
+
+        assertBalance(held.getIban(), currency, "1000.00");
+        assertBalance(free.getIban(), currency, "990.00");
+        // The held funds can still be captured in full
+        holdService.capture(held.getIban(), hold.getId(), null);
+        assertBalance(held.getIban(), currency, "5.00");
+    }
+
+    @Test
+    void testInterest_roundsToCurrencyFractionDigits() throws InterruptedException {
+
+        String currency = "JPY";
+        Account account = createAccounts(currency, 1).getFirst();
+
+        String runKey = "interest-" + UUID.randomUUID();
+        postingService.start(runKey, PostingRun.Type.INTEREST, currency, new BigDecimal("0.0125"));
+        assertEquals(PostingRun.Status.COMPLETED, awaitRun(runKey).getStatus());
+
+        // 1000 * 0.0125 = 12.5, rounded to whole yen
+        assertBalance(account.getIban(), currency, "1013.00");
+    }
+
+    @Test
+    void testPosting_resumedAfterCrash_postsEveryBalanceOnce() throws InterruptedException {
+
+        String currency = "SEK";
+        BigDecimal rate = new BigDecimal("0.01");
+        List<Account> accounts = createAccounts(currency, 6);
+        long a0 = accounts.get(0).getId();
+        long a1 = accounts.get(1).getId();
+        long a2 = accounts.get(2).getId();
+        long a3 = accounts.get(3).getId();
+
+        // State left by a crash: accounts up to a3 planned, the first chunk posted, the second not yet
+        String runKey = "interest-" + UUID.randomUUID();
+        PostingRun run = new PostingRun(runKey, PostingRun.Type.INTEREST, currency, rate, Instant.now());
+        run.setLastPlannedAccountId(a3);
+        Long runId = runRepository.save(run).getId();
+        PostingChunk posted = chunkRepository.save(new PostingChunk(runId, a0, a1));
+        transactionTemplate.executeWithoutResult(status -> {
+            chunkRepository.claim(posted.getId());
+            movementRepository.insertInterest(posted.getId(), a0, a1, List.of(currency), rate, 2);
+            chunkRepository.recordPostedCount(posted.getId(), movementRepository.applyPostingChunk(posted.getId(), a0, a1));
+        });
+        PostingChunk pending = chunkRepository.save(new PostingChunk(runId, a2, a3));
+
+        // What the service does on the next start
+        postingService.resumeInterruptedRuns();
+        PostingRun resumed = awaitRun(runKey);
+
+        assertEquals(PostingRun.Status.COMPLETED, resumed.getStatus());
+        assertEquals(PostingChunk.Status.DONE, chunkRepository.findById(pending.getId()).orElseThrow().getStatus());
+        assertEquals(6, resumed.getPostedBalances());
+        assertPostedOnce(accounts, currency, "1010.00");
+
+        // Starting a completed run again posts nothing
+        assertEquals(PostingRun.Status.COMPLETED, postingService.start(runKey, PostingRun.Type.INTEREST, currency, rate).getStatus());
+        assertPostedOnce(accounts, currency, "1010.00");
+    }
+
+    @Test
+    void testStart_existingKeyWithDifferentRule_rejected() throws InterruptedException {
+
+        String runKey = "interest-" + UUID.randomUUID();
+        postingService.start(runKey, PostingRun.Type.INTEREST, "ISK", new BigDecimal("0.01"));
+        awaitRun(runKey);
+
+        assertRejected(AccountError.POSTING_RUN_CONFLICT,
+                postingService.tryStart(runKey, PostingRun.Type.INTEREST, "ISK", new BigDecimal("0.02")));
+        assertRejected(AccountError.POSTING_RUN_CONFLICT,
+                postingService.tryStart(runKey, PostingRun.Type.INTEREST, "PLN", new BigDecimal("0.01")));
+        assertRejected(AccountError.POSTING_RUN_CONFLICT,
+                postingService.tryStart(runKey, PostingRun.Type.FEE, "ISK", new BigDecimal("0.01")));
+        // The same rule at another scale is the same posting
+        assertInstanceOf(OperationResult.Success.class,
+                postingService.tryStart(runKey, PostingRun.Type.INTEREST, "ISK", new BigDecimal("0.010000")));
+    }
+
+    @Test
+    void testStart_unknownCurrency_rejectedWithoutCreatingRun() {
+
+        String runKey = "interest-" + UUID.randomUUID();
+
+        assertRejected(AccountError.CURRENCY_NOT_FOUND,
+                postingService.tryStart(runKey, PostingRun.Type.INTEREST, "EUX", new BigDecimal("0.01")));
+        assertTrue(postingService.find(runKey).isEmpty());
+    }
+
+    @Test
+    void testStart_feeWithoutCurrency_rejectedWithoutCreatingRun() {
+
+        String runKey = "fee-" + UUID.randomUUID();
+
+        assertRejected(AccountError.POSTING_CURRENCY_REQUIRED,
+                postingService.tryStart(runKey, PostingRun.Type.FEE, null, new BigDecimal("10.00")));
+        assertTrue(postingService.find(runKey).isEmpty());
+    }
+
+    private static void assertRejected(AccountError expected, OperationResult<?> result) {
+        OperationResult.Rejected<?> rejected = assertInstanceOf(OperationResult.Rejected.class, result);
+        assertEquals(expected, rejected.error());
+    }
+
+    private void assertPostedOnce(List<Account> accounts, String currency, String expectedBalance) {
+        long fromId = accounts.getFirst().getId();
+        long toId = accounts.getLast().getId();
+        assertEquals(Map.of(), movementCounts(fromId, toId, currency, BalanceMovement.Type.INTEREST, 1),
+                "Accounts without exactly one interest movement");
+        assertEquals(List.of(), discrepancies(fromId, toId, currency));
+        accounts.forEach(account -> assertBalance(account.getIban(), currency, expectedBalance));
+    }
+
+    private List<Account> createAccounts(String currency, int count) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account();
+            account.setIban("POST" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+            account.getBalances().put(currency, OPENING);
+            accounts.add(account);
+        }
+        List<Account> saved = accountRepository.saveAll(accounts);
+        movementRepository.saveAll(saved.stream()
+                .map(account -> new BalanceMovement(account.getId(), currency, OPENING, BalanceMovement.Type.OPENING, Instant.now()))
+                .toList());
+        return saved;
+    }
+
+    private void assertBalance(String iban, String currency, String expected) {
+        BigDecimal actual = accountRepository.findAllWithBalancesByIbanIn(List.of(iban)).getFirst().getBalances().get(currency);
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "Balance of " + iban + " is " + actual);
+    }
+
+    private PostingRun awaitRun(String runKey) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        PostingRun run = postingService.find(runKey).orElseThrow();
+        while (run.getStatus() == PostingRun.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            run = postingService.find(runKey).orElseThrow();
+        }
+        return run;
+    }
+
+    // Accounts of the range whose number of movements of the given type differs from the expected one
+    private Map<Long, Long> movementCounts(long fromId, long toId, String currency, BalanceMovement.Type type, long expected) {
+        Map<Long, Long> unexpected = new HashMap<>();
+        jdbcTemplate.query("SELECT b.account_id, (SELECT COUNT(*) FROM balance_movement m WHERE m.account_id = b.account_id "
+                        + "AND m.currency = b.currency AND m.type = ?) FROM account_balances b "
+                        + "WHERE b.account_id BETWEEN ? AND ? AND b.currency = ?",
+                row -> {
+                    long count = row.getLong(2);
+                    if (count != expected) {
+                        unexpected.put(row.getLong(1), count);
+                    }
+                }, type.name(), fromId, toId, currency);
+        return unexpected;
+    }
+
+    private List<Long> discrepancies(long fromId, long toId, String currency) {
+        return movementRepository.findDiscrepancies(fromId, toId).stream()
+                .filter(row -> currency.equals(row[1]))
+                .map(row -> ((Number) row[0]).longValue())
+                .toList();
+    }
+
+}
@@ -0,0 +1,218 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceHold;
+import com.banking.account_service.error.AccountError;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceHoldRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+class HoldServiceTest {
+
+    private static final String CURRENCY = "EUR";
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceHoldRepository holdRepository;
+
+    @Test
+    void testCapture_partial_debitsCapturedAmountAndReleasesRest() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("40.00"), 600);
+
+        holdService.capture(iban, hold.getId(), new BigDecimal("25.00"));
+
+        assertBalance(iban, "75.00");
+        assertEquals(BalanceHold.Status.CAPTURED, holdRepository.findById(hold.getId()).orElseThrow().getStatus());
+        // The uncaptured 15.00 is available again
+        assertInstanceOf(OperationResult.Success.class, accountService.tryDebit(iban, CURRENCY, new BigDecimal("75.00")));
+    }
+
+    @Test
+    void testCapture_full_debitsHeldAmount() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("40.00"), 600);
+
+        holdService.capture(iban, hold.getId(), null);
+
+        assertBalance(iban, "60.00");
+        assertEquals(BalanceHold.Status.CAPTURED, holdRepository.findById(hold.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testCapture_alreadyCaptured_rejected() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("40.00"), 600);
+        holdService.capture(iban, hold.getId(), null);
+
+        OperationResult<Account> second = holdService.tryCapture(iban, hold.getId(), null);
+
+        assertRejected(AccountError.HOLD_NOT_ACTIVE, second);
+        assertBalance(iban, "60.00");
+    }
+
+    @Test
+    void testCapture_releasedHoldAfterFundsSpent_rejectedAsNotActive() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("80.00"), 600);
+        holdService.release(iban, hold.getId());
+        accountService.debit(iban, CURRENCY, new BigDecimal("90.00"));
+
+        assertRejected(AccountError.HOLD_NOT_ACTIVE, holdService.tryCapture(iban, hold.getId(), null));
+        assertBalance(iban, "10.00");
+    }
+
+    @Test
+    void testCapture_capturedHoldWithLargerAmount_rejectedAsNotActive() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("40.00"), 600);
+        holdService.capture(iban, hold.getId(), null);
+
+        assertRejected(AccountError.HOLD_NOT_ACTIVE, holdService.tryCapture(iban, hold.getId(), new BigDecimal("50.00")));
+        assertBalance(iban, "60.00");
+    }
+
+    @Test
+    void testRelease_makesFundsAvailableAgain() {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("80.00"), 600);
+
+        holdService.release(iban, hold.getId());
+
+        assertEquals(BalanceHold.Status.RELEASED, holdRepository.findById(hold.getId()).orElseThrow().getStatus());
+        assertInstanceOf(OperationResult.Success.class, accountService.tryDebit(iban, CURRENCY, new BigDecimal("100.00")));
+        assertBalance(iban, "0.00");
+    }
+
+    @Test
+    void testExpiry_marksHoldExpiredAndFreesFunds() throws InterruptedException {
+
+        String iban = createAccount("100.00");
+        BalanceHold hold = holdService.hold(iban, CURRENCY, new BigDecimal("80.00"), 1);
+
+        // Past the deadline plus one wheel tick
+        Thread.sleep(2_100);
+        holdService.expireDueHolds();
+
+        assertEquals(BalanceHold.Status.EXPIRED, holdRepository.findById(hold.getId()).orElseThrow().getStatus());
+        assertRejected(AccountError.HOLD_NOT_ACTIVE, holdService.tryCapture(iban, hold.getId(), null));
+        assertInstanceOf(OperationResult.Success.class, accountService.tryDebit(iban, CURRENCY, new BigDecimal("100.00")));
+    }
+
+    @Test
+    void testDebit_activeHold_rejected() {
+
+        String iban = createAccount("100.00");
+        holdService.hold(iban, CURRENCY, new BigDecimal("80.00"), 600);
+
+        OperationResult<Account> debit = accountService.tryDebit(iban, CURRENCY, new BigDecimal("30.00"));
+
+        assertRejected(AccountError.INSUFFICIENT_FUNDS, debit);
+        assertBalance(iban, "100.00");
+    }
+
+    @Test
+    void testHold_concurrentHolds_cannotReserveSameFunds() throws Exception {
+
+        String iban = createAccount("100.00");
+        BigDecimal amount = new BigDecimal("60.00");
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<OperationResult<BalanceHold>> hold = () -> {
+            start.await();
+            return holdService.tryHold(iban, CURRENCY, amount, 600);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<OperationResult<BalanceHold>>> results = List.of(executor.submit(hold), executor.submit(hold));
+            start.countDown();
+
+            long succeeded = 0;
+            for (Future<OperationResult<BalanceHold>> result : results) {
+                if (result.get() instanceof OperationResult.Success<BalanceHold>) {
+                    succeeded++;
+                } else {
+                    assertRejected(AccountError.INSUFFICIENT_FUNDS, result.get());
+                }
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testDebit_concurrentWithHold_cannotSpendSameFunds() throws Exception {
+
+        String iban = createAccount("100.00");
+        BigDecimal amount = new BigDecimal("60.00");
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OperationResult<BalanceHold>> hold = executor.submit(() -> {
+                start.await();
+                return holdService.tryHold(iban, CURRENCY, amount, 600);
+            });
+            Future<OperationResult<Account>> debit = executor.submit(() -> {
+                start.await();
+                return accountService.tryDebit(iban, CURRENCY, amount);
+            });
+            start.countDown();
+
+            boolean held = hold.get() instanceof OperationResult.Success<BalanceHold>;
+            boolean debited = debit.get() instanceof OperationResult.Success<Account>;
+            assertEquals(1, (held ? 1 : 0) + (debited ? 1 : 0));
+            assertBalance(iban, debited ? "40.00" : "100.00");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private String createAccount(String balance) {
+        Account account = new Account();
+        account.setIban("HOLD" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+        account.getBalances().put(CURRENCY, new BigDecimal(balance));
+        return accountRepository.save(account).getIban();
+    }
+
+    private void assertBalance(String iban, String expected) {
+        BigDecimal actual = accountRepository.findAllWithBalancesByIbanIn(List.of(iban)).getFirst().getBalances().get(CURRENCY);
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "Balance of " + iban + " is " + actual);
+    }
+
+    private static void assertRejected(AccountError expected, OperationResult<?> result) {
+        OperationResult.Rejected<?> rejected = assertInstanceOf(OperationResult.Rejected.class, result);
+        assertEquals(expected, rejected.error());
+    }
+
+}
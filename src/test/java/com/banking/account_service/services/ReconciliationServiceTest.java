@@ -0,0 +1,92 @@
+package com.banking.account_service.services;
+
+import com.banking.account_service.dto.ReconciliationStatus;
+import com.banking.account_service.entities.Account;
+import com.banking.account_service.entities.BalanceMovement;
+import com.banking.account_service.entities.ReconciliationDiscrepancy;
+import com.banking.account_service.repositories.AccountRepository;
+import com.banking.account_service.repositories.BalanceMovementRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ReconciliationServiceTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceMovementRepository movementRepository;
+
+    @Test
+    void testReconciliation_reportsSeededMismatches() throws InterruptedException {
+
+        // Stored 100.00 EUR, but the movements only add up to 90.00
+        Long mismatched = createAccount("EUR", "100.00");
+        recordMovement(mismatched, "EUR", "90.00");
+        // USD movements with no stored USD balance
+        recordMovement(mismatched, "USD", "25.00");
+        // Stored balance matching its movements
+        Long reconciled = createAccount("EUR", "50.00");
+        recordMovement(reconciled, "EUR", "50.00");
+
+        ReconciliationStatus status = awaitCompletion(reconciliationService.start().getRunId());
+        assertEquals(ReconciliationStatus.State.COMPLETED, status.getState());
+
+        List<ReconciliationDiscrepancy> discrepancies = reconciliationService.getDiscrepancies(status.getRunId());
+
+        ReconciliationDiscrepancy eur = find(discrepancies, mismatched, "EUR");
+        assertEquals(0, new BigDecimal("100.00").compareTo(eur.getStoredBalance()));
+        assertEquals(0, new BigDecimal("90.00").compareTo(eur.getRecomputedBalance()));
+
+        ReconciliationDiscrepancy usd = find(discrepancies, mismatched, "USD");
+        assertNull(usd.getStoredBalance());
+        assertEquals(0, new BigDecimal("25.00").compareTo(usd.getRecomputedBalance()));
+
+        assertTrue(discrepancies.stream().noneMatch(discrepancy -> discrepancy.getAccountId().equals(reconciled)));
+    }
+
+    private ReconciliationStatus awaitCompletion(String runId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        ReconciliationStatus status = reconciliationService.getStatus().orElseThrow();
+        while (status.getState() == ReconciliationStatus.State.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = reconciliationService.getStatus().orElseThrow();
+        }
+        assertEquals(runId, status.getRunId());
+        return status;
+    }
+
+    private static ReconciliationDiscrepancy find(List<ReconciliationDiscrepancy> discrepancies, Long accountId, String currency) {
+        return discrepancies.stream()
+                .filter(discrepancy -> discrepancy.getAccountId().equals(accountId) && discrepancy.getCurrency().equals(currency))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No discrepancy reported for account " + accountId + " in " + currency));
+    }
+
+    private Long createAccount(String currency, String balance) {
+        Account account = new Account();
+        account.setIban("RECO" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase());
+        account.getBalances().put(currency, new BigDecimal(balance));
+        return accountRepository.save(account).getId();
+    }
+
+    private void recordMovement(Long accountId, String currency, String amount) {
+        movementRepository.save(new BalanceMovement(accountId, currency, new BigDecimal(amount),
+                BalanceMovement.Type.OPENING, Instant.now()));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.banking.account_service.timing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTimingsTest {
+
+    @Test
+    void testToServerTimingHeader_formatsMillisWithMicrosecondPrecision() {
+
+        RequestTimings timings = new RequestTimings(true);
+        timings.add("findByIban", 1_234_567);
+        timings.add("validateCurrency", 5_000);
+        timings.add("save", 12_345_678_901L);
+        timings.add("balances", 999);
+
+        String header = timings.toServerTimingHeader();
+
+        assertTrue(header.startsWith("findByIban;dur=1.234, validateCurrency;dur=0.005, save;dur=12345.678, balances;dur=0.000, "),
+                header);
+        assertTrue(header.matches(".*, total;dur=\\d+\\.\\d{3}"), header);
+    }
+
+    @Test
+    void testToServerTimingHeader_sumsRepeatedPhases() {
+
+        RequestTimings timings = new RequestTimings(true);
+        timings.add("findByIban", 1_000_000);
+        timings.add("save", 250_000);
+        timings.add("findByIban", 1_500_000);
+
+        assertTrue(timings.toServerTimingHeader().startsWith("findByIban;dur=2.500, save;dur=0.250, total;dur="));
+        assertEquals(2, timings.phaseMillis().size());
+        assertEquals(2.5, timings.phaseMillis().get("findByIban"));
+    }
+
+    @Test
+    void testToServerTimingHeader_growsPastInitialPhases() {
+
+        RequestTimings timings = new RequestTimings(true);
+        for (int i = 0; i < 20; i++) {
+            timings.add("phase" + i, 1_000);
+        }
+
+        assertEquals(20, timings.phaseMillis().size());
+        assertTrue(timings.toServerTimingHeader().contains("phase19;dur=0.001, total;dur="));
+    }
+
+    @Test
+    void testToServerTimingHeader_marksHeaderWritten() {
+
+        RequestTimings timings = new RequestTimings(true);
+        assertFalse(timings.isHeaderWritten());
+
+        assertTrue(timings.toServerTimingHeader().startsWith("total;dur="));
+        assertTrue(timings.isHeaderWritten());
+    }
+
+    @Test
+    void testStartAndStop_withoutBoundTimings_recordNothing() {
+
+        long start = RequestTimings.start();
+        RequestTimings.stop("findByIban", start);
+
+        assertEquals(0L, start);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.banking.account_service.timing;
+
+import com.banking.account_service.dto.RequestTrace;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestTraceBufferTest {
+
+    @Test
+    void testLatest_emptyBuffer() {
+
+        assertTrue(new RequestTraceBuffer(4).latest(10).isEmpty());
+    }
+
+    @Test
+    void testLatest_newestFirst() {
+
+        RequestTraceBuffer buffer = bufferWith(4, 3);
+
+        assertEquals(List.of("/3", "/2", "/1"), paths(buffer.latest(10)));
+    }
+
+    @Test
+    void testLatest_afterWrapAround_keepsLastCapacityTraces() {
+
+        RequestTraceBuffer buffer = bufferWith(4, 10);
+
+        assertEquals(List.of("/10", "/9", "/8", "/7"), paths(buffer.latest(10)));
+        assertEquals(List.of("/10", "/9", "/8", "/7"), paths(buffer.latest(4)));
+    }
+
+    @Test
+    void testLatest_limitsResult() {
+
+        RequestTraceBuffer buffer = bufferWith(4, 10);
+
+        assertEquals(List.of("/10", "/9"), paths(buffer.latest(2)));
+        assertTrue(buffer.latest(0).isEmpty());
+        assertTrue(buffer.latest(-5).isEmpty());
+    }
+
+    private static RequestTraceBuffer bufferWith(int capacity, int traces) {
+        RequestTraceBuffer buffer = new RequestTraceBuffer(capacity);
+        for (int i = 1; i <= traces; i++) {
+            buffer.record(new RequestTrace(Instant.now(), "GET", "/" + i, 200, i, Map.of()));
+        }
+        return buffer;
+    }
+
+    private static List<String> paths(List<RequestTrace> traces) {
+        return traces.stream().map(RequestTrace::getPath).toList();
+    }
+
+}
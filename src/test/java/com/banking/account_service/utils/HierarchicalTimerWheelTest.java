@@ -0,0 +1,71 @@
+package com.banking.account_service.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimerWheelTest {
+
+    // 4 slots per level and 3 levels: spans of 4, 16 and 64 ticks
+    private HierarchicalTimerWheel<String> newWheel() {
+        return new HierarchicalTimerWheel<>(10, 2, 3, 0);
+    }
+
+    @Test
+    void testAdvance_expiresAtDeadlineAndNotBefore() {
+
+        HierarchicalTimerWheel<String> wheel = newWheel();
+        wheel.schedule("hold", 35);
+
+        assertTrue(wheel.advance(39).isEmpty());
+        assertEquals(List.of("hold"), wheel.advance(40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_cascadesFromHigherLevels() {
+
+        HierarchicalTimerWheel<String> wheel = newWheel();
+        wheel.schedule("level1", 120);
+        wheel.schedule("level2", 500);
+
+        assertTrue(wheel.advance(110).isEmpty());
+        assertEquals(List.of("level1"), wheel.advance(120));
+        assertTrue(wheel.advance(490).isEmpty());
+        assertEquals(List.of("level2"), wheel.advance(500));
+    }
+
+    @Test
+    void testAdvance_deadlineBeyondWheelSpan() {
+
+        HierarchicalTimerWheel<String> wheel = newWheel();
+        wheel.schedule("far", 2_000);
+
+        assertTrue(wheel.advance(1_990).isEmpty());
+        assertEquals(List.of("far"), wheel.advance(2_000));
+    }
+
+    @Test
+    void testSchedule_pastDeadlineExpiresOnNextAdvance() {
+
+        HierarchicalTimerWheel<String> wheel = new HierarchicalTimerWheel<>(10, 2, 3, 1_000);
+        wheel.schedule("overdue", 500);
+
+        assertEquals(List.of("overdue"), wheel.advance(1_000));
+    }
+
+    @Test
+    void testCancel() {
+
+        HierarchicalTimerWheel<String> wheel = newWheel();
+        HierarchicalTimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 50);
+        wheel.schedule("kept", 50);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept"), wheel.advance(50));
+    }
+
+}